@@ -0,0 +1,30 @@
+package omni.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Holds helpers shared by the benchmarks.
+ *
+ * @author Brandon Tan
+ */
+class Benchmarks {
+    private Benchmarks() {}
+
+    /**
+     * Deletes a directory created by a benchmark, along with everything in it.
+     *
+     * @param directory The directory to delete.
+     * @throws IOException If a file cannot be deleted.
+     */
+    static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
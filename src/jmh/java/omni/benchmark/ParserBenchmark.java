@@ -0,0 +1,141 @@
+package omni.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import omni.exceptions.OmniException;
+import omni.parser.Parser;
+import omni.storage.FsyncPolicy;
+import omni.storage.Storage;
+import omni.storage.StorageMode;
+import omni.tasklist.TaskList;
+import omni.ui.Ui;
+
+/**
+ * Measures {@link Parser#handleInput} for each kind of command, on a list of 1000 generated tasks.
+ *
+ * <p>Storage batches its writes, as in headless mode, so the figures are dominated by parsing, updating the list
+ * and rendering the reply rather than by file writes. The list is regenerated for every iteration, since the
+ * adding commands grow it. Commands that would shrink the list are measured together with the command that
+ * restores it.
+ *
+ * @author Brandon Tan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+    private static final int TASK_COUNT = 1000;
+    private static final long WRITE_DELAY_MILLIS = 100;
+
+    private Path directory;
+    private Storage storage;
+    private Parser parser;
+    private boolean isMarked;
+
+    /**
+     * Loads a fresh list of generated tasks.
+     *
+     * @throws IOException If the task file cannot be written.
+     * @throws OmniException If the task file cannot be loaded.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, OmniException {
+        directory = Files.createTempDirectory("omni-parser-benchmark");
+        Path path = directory.resolve("tasks.txt");
+        TaskFiles.writeTextFile(path, TASK_COUNT, TaskFiles.DEFAULT_SEED);
+        storage = new Storage(path, StorageMode.TEXT, WRITE_DELAY_MILLIS, FsyncPolicy.NEVER);
+        parser = new Parser(new Ui(), new TaskList(storage.loadTasks()), storage);
+    }
+
+    /**
+     * Writes the queued changes and deletes the task file.
+     *
+     * @throws IOException If the task file cannot be written or deleted.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        storage.close();
+        Benchmarks.deleteDirectory(directory);
+    }
+
+    /** Adds a todo. */
+    @Benchmark
+    public String todo() {
+        return parser.handleInput("todo write benchmark report");
+    }
+
+    /** Adds a deadline with a date and time. */
+    @Benchmark
+    public String deadline() {
+        return parser.handleInput("deadline submit assignment /by 25-09-2025 2359");
+    }
+
+    /** Adds an event with start and end dates and times. */
+    @Benchmark
+    public String event() {
+        return parser.handleInput("event project meeting /from 26-09-2025 1400 /to 26-09-2025 1600");
+    }
+
+    /** Marks a task as done and then as not done, alternating between calls. */
+    @Benchmark
+    public String markAndUnmark() {
+        isMarked = !isMarked;
+        return parser.handleInput(isMarked ? "mark 500" : "unmark 500");
+    }
+
+    /** Changes the description and date of a deadline. */
+    @Benchmark
+    public String update() {
+        return parser.handleInput("update 2 /desc submit final report /by 30-09-2025 1800");
+    }
+
+    /** Adds a todo and deletes it again. */
+    @Benchmark
+    public String todoAndDelete() {
+        parser.handleInput("todo temporary task");
+        return parser.handleInput("delete " + (TASK_COUNT + 1));
+    }
+
+    /** Shows the first page of the list. */
+    @Benchmark
+    public String list() {
+        return parser.handleInput("list");
+    }
+
+    /** Searches for a keyword. */
+    @Benchmark
+    public String find() {
+        return parser.handleInput("find report 12");
+    }
+
+    /** Shows the deadlines and events on one day. */
+    @Benchmark
+    public String due() {
+        return parser.handleInput("due 14-03-2025");
+    }
+
+    /** Replies to an unknown command. */
+    @Benchmark
+    public String unknown() {
+        return parser.handleInput("hello there");
+    }
+}
@@ -0,0 +1,69 @@
+package omni.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import omni.exceptions.OmniException;
+import omni.storage.Storage;
+import omni.tasklist.TaskList;
+import omni.tasks.Task;
+
+/**
+ * Measures {@link TaskList#findMatchingTasks} on lists of generated tasks, once the description index has been
+ * built. The keywords cover a short query answered from the word index, a common word that matches many tasks,
+ * and a selective query answered by intersecting trigrams.
+ *
+ * @author Brandon Tan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"qu", "meeting", "report 4242"})
+    private String keyword;
+
+    private TaskList tasks;
+
+    /**
+     * Loads the generated tasks and builds the description index with a first search.
+     *
+     * @throws IOException If the task file cannot be written or deleted.
+     * @throws OmniException If the task file cannot be loaded.
+     */
+    @Setup
+    public void setUp() throws IOException, OmniException {
+        Path directory = Files.createTempDirectory("omni-search-benchmark");
+        Path path = directory.resolve("tasks.txt");
+        TaskFiles.writeTextFile(path, taskCount, TaskFiles.DEFAULT_SEED);
+        tasks = new TaskList(new Storage(path).loadTasks());
+        Benchmarks.deleteDirectory(directory);
+        tasks.findMatchingTasks(keyword);
+    }
+
+    /** Finds the tasks containing the keyword. */
+    @Benchmark
+    public ArrayList<Task> findMatchingTasks() {
+        return tasks.findMatchingTasks(keyword);
+    }
+}
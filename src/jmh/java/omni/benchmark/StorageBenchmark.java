@@ -0,0 +1,111 @@
+package omni.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import omni.exceptions.OmniException;
+import omni.storage.Storage;
+import omni.storage.StorageMode;
+import omni.tasks.Task;
+
+/**
+ * Measures {@link Storage#loadTasks()} and {@link Storage#rewriteTask} on generated files of 1k, 100k and 1M tasks
+ * in every storage mode. Binary and mapped files are converted from the generated text file during setup, so
+ * the conversion is not part of the measured load.
+ *
+ * <p>Every operation on a large file takes milliseconds to seconds, so fewer and shorter iterations are run than
+ * for the other benchmarks. Use {@code -Pjmh.includes=StorageBenchmark} to run these on their own.
+ *
+ * @author Brandon Tan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"TEXT", "JOURNAL", "BINARY", "MAPPED"})
+    private StorageMode mode;
+
+    private Path directory;
+    private Path path;
+    private Storage storage;
+    private ArrayList<Task> tasks;
+    private int rewriteCount;
+
+    /**
+     * Generates the task file and loads it once in the chosen mode.
+     *
+     * @throws IOException If the task file cannot be written.
+     * @throws OmniException If the task file cannot be loaded.
+     */
+    @Setup
+    public void setUp() throws IOException, OmniException {
+        directory = Files.createTempDirectory("omni-storage-benchmark");
+        path = directory.resolve("tasks.txt");
+        TaskFiles.writeTextFile(path, taskCount, TaskFiles.DEFAULT_SEED);
+        storage = new Storage(path, mode);
+        tasks = storage.loadTasks();
+    }
+
+    /**
+     * Closes the storage and deletes the task files.
+     *
+     * @throws IOException If the task files cannot be closed or deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        storage.close();
+        Benchmarks.deleteDirectory(directory);
+    }
+
+    /**
+     * Loads every task with a newly opened storage.
+     *
+     * @return The loaded tasks.
+     * @throws IOException If the storage cannot be closed.
+     * @throws OmniException If the task file cannot be loaded.
+     */
+    @Benchmark
+    public ArrayList<Task> loadTasks() throws IOException, OmniException {
+        Storage freshStorage = new Storage(path, mode);
+        try {
+            return freshStorage.loadTasks();
+        } finally {
+            freshStorage.close();
+        }
+    }
+
+    /**
+     * Renames the task in the middle of the list and persists it.
+     *
+     * @throws IOException If the task cannot be written.
+     */
+    @Benchmark
+    public void rewriteTask() throws IOException {
+        int index = tasks.size() / 2;
+        Task task = tasks.get(index);
+        task.setDescription("renamed task " + rewriteCount++);
+        storage.rewriteTask(task, index);
+    }
+}
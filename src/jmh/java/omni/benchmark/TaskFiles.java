@@ -0,0 +1,101 @@
+package omni.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Generates synthetic task files in the text storage format for the benchmarks.
+ * The same size and seed always give the same file, so results from different runs compare like for like.
+ *
+ * <p>A third of the tasks each are todos, deadlines and events, about a fifth of them done, with descriptions of
+ * two to four words drawn from a small vocabulary followed by the task's number, and dates spread over 2025.
+ *
+ * @author Brandon Tan
+ */
+public class TaskFiles {
+    static final long DEFAULT_SEED = 2103;
+
+    private static final String[] WORDS = {
+        "read", "write", "report", "meeting", "project", "review", "book", "lecture", "tutorial", "quiz",
+        "groceries", "laundry", "call", "email", "submit", "assignment", "plan", "trip", "gym", "dinner",
+    };
+
+    /**
+     * Writes a task file with the given number of tasks to the given path, replacing any file already there.
+     *
+     * @param path The path to write the file to.
+     * @param taskCount The number of tasks in the file.
+     * @param seed The seed the tasks are generated from.
+     * @throws IOException If the file cannot be written.
+     */
+    static void writeTextFile(Path path, int taskCount, long seed) throws IOException {
+        Random random = new Random(seed);
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            StringBuilder entry = new StringBuilder();
+            for (int i = 0; i < taskCount; i++) {
+                entry.setLength(0);
+                appendEntry(entry, i, random);
+                writer.append(entry).append('\n');
+            }
+        }
+    }
+
+    private static void appendEntry(StringBuilder entry, int number, Random random) {
+        char type = "TDE".charAt(number % 3);
+        entry.append(type).append(" | ").append(description(number, random))
+                .append(" | ").append(random.nextInt(5) == 0 ? 1 : 0);
+        if (type == 'D') {
+            entry.append(" | ").append(date(random)).append(" 2359");
+        } else if (type == 'E') {
+            String day = date(random);
+            entry.append(" | ").append(day).append(" 1400 | ").append(day).append(" 1600");
+        }
+    }
+
+    /**
+     * Returns a description of two to four words followed by the given number.
+     *
+     * @param number The number that ends the description.
+     * @param random The source of the words.
+     * @return The description.
+     */
+    static String description(int number, Random random) {
+        StringBuilder description = new StringBuilder();
+        int wordCount = 2 + random.nextInt(3);
+        for (int i = 0; i < wordCount; i++) {
+            description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return description.append(number).toString();
+    }
+
+    /**
+     * Returns a date in 2025 in the form DD-MM-YYYY.
+     *
+     * @param random The source of the date.
+     * @return The date.
+     */
+    static String date(Random random) {
+        return String.format("%02d-%02d-2025", 1 + random.nextInt(28), 1 + random.nextInt(12));
+    }
+
+    /**
+     * Writes a task file for trying out Omni with many tasks.
+     *
+     * @param args The number of tasks followed by the path to write the file to.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TaskFiles TASK_COUNT PATH");
+            System.exit(2);
+        }
+        writeTextFile(Paths.get(args[1]), Integer.parseInt(args[0]), DEFAULT_SEED);
+    }
+}
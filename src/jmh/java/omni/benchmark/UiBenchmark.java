@@ -0,0 +1,71 @@
+package omni.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import omni.exceptions.OmniException;
+import omni.storage.Storage;
+import omni.tasklist.TaskList;
+import omni.ui.Ui;
+
+/**
+ * Measures {@link Ui#showTasks} rendering the first and the last page of lists of generated tasks.
+ *
+ * @author Brandon Tan
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UiBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private final Ui ui = new Ui();
+    private TaskList tasks;
+    private int lastPage;
+
+    /**
+     * Loads the generated tasks.
+     *
+     * @throws IOException If the task file cannot be written or deleted.
+     * @throws OmniException If the task file cannot be loaded.
+     */
+    @Setup
+    public void setUp() throws IOException, OmniException {
+        Path directory = Files.createTempDirectory("omni-ui-benchmark");
+        Path path = directory.resolve("tasks.txt");
+        TaskFiles.writeTextFile(path, taskCount, TaskFiles.DEFAULT_SEED);
+        tasks = new TaskList(new Storage(path).loadTasks());
+        Benchmarks.deleteDirectory(directory);
+        lastPage = tasks.getPageCount(Ui.LIST_PAGE_SIZE);
+    }
+
+    /** Renders the first page of the list. */
+    @Benchmark
+    public String showFirstPage() {
+        return ui.showTasks(tasks);
+    }
+
+    /** Renders the last page of the list. */
+    @Benchmark
+    public String showLastPage() {
+        return ui.showTasks(tasks, lastPage);
+    }
+}
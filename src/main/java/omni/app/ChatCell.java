@@ -0,0 +1,55 @@
+package omni.app;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * A list cell that shows a chat message using the {@link DialogBox} layout.
+ * The list view only creates enough cells to fill its viewport and reuses them as the history scrolls,
+ * so the number of live dialog boxes stays constant however long the conversation grows.
+ *
+ * @author Brandon Tan
+ */
+public class ChatCell extends ListCell<ChatMessage> {
+    /** Room left for the list view's vertical scroll bar, so that wrapped text is never clipped. */
+    private static final double SCROLL_BAR_ALLOWANCE = 20.0;
+    private static final double PENDING_OPACITY = 0.5;
+
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image omniImage;
+
+    /**
+     * Constructs a ChatCell for the given list view.
+     *
+     * @param listView The list view the cell belongs to.
+     * @param userImage The user's avatar image.
+     * @param omniImage Omni's avatar image.
+     */
+    public ChatCell(ListView<ChatMessage> listView, Image userImage, Image omniImage) {
+        this.userImage = userImage;
+        this.omniImage = omniImage;
+        setPrefWidth(0);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+        dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_ALLOWANCE));
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        if (message.isFromUser()) {
+            dialogBox.showUserMessage(message.getText(), userImage);
+        } else {
+            dialogBox.showOmniMessage(message.getText(), omniImage);
+        }
+        dialogBox.setOpacity(message.isPending() ? PENDING_OPACITY : 1.0);
+        setGraphic(dialogBox);
+    }
+}
@@ -0,0 +1,64 @@
+package omni.app;
+
+/**
+ * Represents a single message in the chat history, either typed by the user or replied by Omni.
+ * Only the text and speaker are kept, so a long history costs little more than its strings.
+ * A pending message stands in for a reply that Omni is still working on.
+ *
+ * @author Brandon Tan
+ */
+public class ChatMessage {
+    private static final String PENDING_TEXT = "...";
+
+    private final String text;
+    private final boolean isFromUser;
+    private final boolean isPending;
+
+    private ChatMessage(String text, boolean isFromUser, boolean isPending) {
+        assert text != null : "text cannot be null";
+        this.text = text;
+        this.isFromUser = isFromUser;
+        this.isPending = isPending;
+    }
+
+    /**
+     * Creates a message typed by the user.
+     *
+     * @param text The user's message text.
+     * @return The message.
+     */
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(text, true, false);
+    }
+
+    /**
+     * Creates a message replied by Omni.
+     *
+     * @param text Omni's response text.
+     * @return The message.
+     */
+    public static ChatMessage fromOmni(String text) {
+        return new ChatMessage(text, false, false);
+    }
+
+    /**
+     * Creates a placeholder for a reply from Omni that is not ready yet.
+     *
+     * @return The pending message.
+     */
+    public static ChatMessage pendingFromOmni() {
+        return new ChatMessage(PENDING_TEXT, false, true);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    public boolean isPending() {
+        return isPending;
+    }
+}
@@ -0,0 +1,137 @@
+package omni.app;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import omni.metrics.Metrics;
+import omni.storage.FsyncPolicy;
+import omni.storage.Storage;
+import omni.storage.StorageMode;
+import omni.tasklist.TaskListLayout;
+import omni.ui.QuietUi;
+import omni.ui.Ui;
+
+/**
+ * Runs Omni without a window, reading one command per line from a file or standard input and writing each reply
+ * to standard output. Nothing in this class touches JavaFX, so it runs on machines without a display.
+ *
+ * <p>Writes to the tasks file are batched, as with {@code -Domni.writeDelay}, so a long script costs one file
+ * write per batch rather than one per command; everything is saved before the program exits. With
+ * {@code --quiet}, successful changes are not echoed, which leaves only errors and the replies to queries.
+ *
+ * @author Brandon Tan
+ */
+public class Cli {
+    static final long DEFAULT_WRITE_DELAY_MILLIS = 200;
+
+    private static final String USAGE = "Usage: omni --headless [--quiet] [--data FILE] [--storage MODE]"
+            + " [--write-delay MILLIS] [--metrics FILE] [--tasks LAYOUT] [SCRIPT]\n"
+            + "Reads commands from SCRIPT, or from standard input if no script is given.";
+
+    private Path dataPath = Paths.get("data", "tasks.txt");
+    private StorageMode storageMode = StorageMode.fromName(System.getProperty("omni.storage"));
+    private long writeDelayMillis = DEFAULT_WRITE_DELAY_MILLIS;
+    private Path metricsPath = System.getProperty("omni.metricsFile") == null ? null
+            : Paths.get(System.getProperty("omni.metricsFile"));
+    private boolean isQuiet;
+    private TaskListLayout layout = TaskListLayout.fromName(System.getProperty("omni.tasks"));
+    private Path scriptPath;
+
+    /**
+     * Runs the commands given by the arguments, exiting with a non-zero status if the arguments are invalid or the
+     * tasks could not be saved.
+     *
+     * @param args The command line options, optionally followed by the path to a script.
+     */
+    public static void main(String[] args) {
+        Cli cli = new Cli();
+        if (!cli.parseArgs(args)) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        try {
+            cli.run();
+        } catch (IOException e) {
+            System.err.println("Unable to run commands: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private boolean parseArgs(String[] args) {
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--quiet", "-q" -> isQuiet = true;
+                case "--data" -> dataPath = Paths.get(args[++i]);
+                case "--storage" -> storageMode = StorageMode.fromName(args[++i]);
+                case "--write-delay" -> writeDelayMillis = Long.parseLong(args[++i]);
+                case "--metrics" -> metricsPath = Paths.get(args[++i]);
+                case "--tasks" -> layout = TaskListLayout.fromName(args[++i]);
+                default -> {
+                    if (args[i].startsWith("-") || scriptPath != null) {
+                        return false;
+                    }
+                    scriptPath = Paths.get(args[i]);
+                }
+                }
+            }
+            return writeDelayMillis >= 0;
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void run() throws IOException {
+        if (metricsPath != null) {
+            Metrics.startDumping(metricsPath, Long.getLong("omni.metricsInterval", 60));
+        }
+        Ui ui = isQuiet ? new QuietUi() : new Ui();
+        Storage storage = new Storage(dataPath, storageMode, writeDelayMillis,
+                FsyncPolicy.fromName(System.getProperty("omni.fsync")));
+        Omni omni = new Omni(storage, false, layout, ui);
+        boolean isInteractive = scriptPath == null && System.console() != null;
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8)), false);
+        try (BufferedReader in = openScript()) {
+            printReply(out, omni.greet(), isInteractive);
+            String line;
+            while ((line = in.readLine()) != null) {
+                printReply(out, omni.getResponse(line), isInteractive);
+                if (omni.isExit()) {
+                    break;
+                }
+            }
+        } finally {
+            out.flush();
+            storage.close();
+            if (metricsPath != null) {
+                Metrics.writeReport(metricsPath);
+            }
+        }
+    }
+
+    private BufferedReader openScript() throws IOException {
+        if (scriptPath == null) {
+            return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedReader(scriptPath, StandardCharsets.UTF_8);
+    }
+
+    private static void printReply(PrintWriter out, String reply, boolean isInteractive) {
+        if (reply.isEmpty()) {
+            return;
+        }
+        out.println(reply);
+        if (isInteractive) {
+            out.flush();
+        }
+    }
+}
@@ -1,61 +1,72 @@
 package omni.app;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker. Used to display conversations between
- * the user and Omni in the GUI interface.
+ * the user and Omni in the GUI interface. A dialog box can be reused for another message,
+ * which is how {@link ChatCell} recycles them.
+ *
+ * <p>The layout is built in code rather than loaded from FXML, which saves parsing the markup and injecting the
+ * fields by reflection every time a dialog box is created.
  *
  * @author Brandon Tan
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final double PREF_WIDTH = 400.0;
+    private static final double PICTURE_SIZE = 99.0;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
 
     /**
-     * Constructs a DialogBox with the specified text and image.
-     * Loads the FXML layout and sets up the dialog content.
-     *
-     * @param text The text content to display in the dialog.
-     * @param img The image to display as the speaker's avatar.
+     * Constructs an empty DialogBox.
      */
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    DialogBox() {
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(PREF_WIDTH);
+        setPadding(PADDING);
+        setAlignment(Pos.TOP_RIGHT);
+        getChildren().setAll(dialog, displayPicture);
+    }
 
+    /**
+     * Shows a user message, with the text on the left and the image on the right.
+     *
+     * @param text The user's message text.
+     * @param img The user's avatar image.
+     */
+    void showUserMessage(String text, Image img) {
         dialog.setText(text);
         displayPicture.setImage(img);
+        getChildren().setAll(dialog, displayPicture);
+        setAlignment(Pos.TOP_RIGHT);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
-     * Changes the alignment to TOP_LEFT to match the flipped layout.
+     * Shows a message from Omni, flipped such that the image is on the left and the text on the right.
+     *
+     * @param text Omni's response text.
+     * @param img Omni's avatar image.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
+    void showOmniMessage(String text, Image img) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        getChildren().setAll(displayPicture, dialog);
         setAlignment(Pos.TOP_LEFT);
     }
 
@@ -68,7 +79,9 @@ public class DialogBox extends HBox {
      * @return A DialogBox configured for user messages.
      */
     public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+        DialogBox db = new DialogBox();
+        db.showUserMessage(text, img);
+        return db;
     }
 
     /**
@@ -80,8 +93,8 @@ public class DialogBox extends HBox {
      * @return A DialogBox configured for Omni responses.
      */
     public static DialogBox getOmniDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
+        DialogBox db = new DialogBox();
+        db.showOmniMessage(text, img);
         return db;
     }
 }
@@ -1,12 +1,20 @@
 package omni.app;
 
+import java.util.Arrays;
+
 import javafx.application.Application;
 
 /**
  * A launcher class to workaround classpath issues.
+ * Starting it with {@code --headless} runs the commands line by line through {@link Cli} instead of opening
+ * the window.
  */
 public class Launcher {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--headless")) {
+            Cli.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
@@ -9,6 +9,12 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import omni.metrics.Metrics;
+import omni.storage.FsyncPolicy;
+import omni.storage.Storage;
+import omni.storage.StorageMode;
+import omni.tasklist.TaskListLayout;
+import omni.ui.Ui;
 
 /**
  * The main JavaFX application class for the Omni task management GUI.
@@ -20,7 +26,15 @@ import javafx.stage.Stage;
 public class Main extends Application {
 
     private Path filePath = Paths.get("data", "tasks.txt");
-    private Omni omni = new Omni(filePath);
+    private StorageMode storageMode = StorageMode.fromName(System.getProperty("omni.storage"));
+    private boolean isLazy = Boolean.getBoolean("omni.lazy");
+    private TaskListLayout layout = TaskListLayout.fromName(System.getProperty("omni.tasks"));
+    private long writeDelayMillis = Long.getLong("omni.writeDelay", 0);
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.fromName(System.getProperty("omni.fsync"));
+    private String metricsFile = System.getProperty("omni.metricsFile");
+    private long metricsIntervalSeconds = Long.getLong("omni.metricsInterval", 60);
+    private Omni omni = new Omni(new Storage(filePath, storageMode, writeDelayMillis, fsyncPolicy), isLazy,
+            layout, new Ui());
 
     /**
      * Starts the JavaFX application by setting up the primary stage.
@@ -31,6 +45,9 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage stage) {
+        if (metricsFile != null) {
+            Metrics.startDumping(Paths.get(metricsFile), metricsIntervalSeconds);
+        }
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
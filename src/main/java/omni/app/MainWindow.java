@@ -1,14 +1,17 @@
 package omni.app;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
 /**
@@ -16,30 +19,44 @@ import javafx.util.Duration;
  * Handles user input, displays dialog boxes, and manages the interaction
  * between the user interface and the Omni application logic.
  *
+ * <p>The conversation is kept as a list of {@link ChatMessage}s shown by a virtualized list view, so only the
+ * messages on screen have nodes. The oldest messages are dropped once the history holds more than
+ * {@code -Domni.history} messages ({@value #DEFAULT_HISTORY_CAP} by default).
+ *
+ * <p>Commands are handled on a single background thread, so a slow command never blocks the window, and commands
+ * still run and reply in the order they were entered. While a command runs, a pending message from Omni holds its
+ * place in the history and is replaced by the reply on the JavaFX application thread.
+ *
  * @author Brandon Tan
  */
 public class MainWindow extends AnchorPane {
+    static final int DEFAULT_HISTORY_CAP = 1000;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Omni omni;
+    private final int historyCap = Math.max(2, Integer.getInteger("omni.history", DEFAULT_HISTORY_CAP));
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "omni-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/ben10.png"));
     private Image omniImage = new Image(this.getClass().getResourceAsStream("/images/omnitrix.png"));
 
     /**
      * Initializes the MainWindow controller.
-     * Sets up the scroll pane to automatically scroll to the bottom when new content is added.
+     * Sets up the list view to show each message in a recycled dialog box.
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setCellFactory(list -> new ChatCell(list, userImage, omniImage));
     }
 
     /**
@@ -52,19 +69,41 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Adds the user input and a pending reply to the history, then queues the command to be handled in the
+     * background. Clears the user input straight away so that the next command can be typed.
      */
     @FXML
     private void handleUserInput() {
+        if (commandExecutor.isShutdown()) {
+            return;
+        }
         String input = userInput.getText();
-        String response = omni.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getOmniDialog(response, omniImage)
-        );
+        ChatMessage pending = ChatMessage.pendingFromOmni();
+        addMessages(ChatMessage.fromUser(input), pending);
         userInput.clear();
-        if (input.equalsIgnoreCase("bye")) {
+        commandExecutor.execute(() -> {
+            String response;
+            try {
+                response = omni.getResponse(input);
+            } catch (RuntimeException e) {
+                response = "Something went wrong: " + e.getMessage();
+            }
+            String reply = response;
+            boolean isExit = omni.isExit();
+            Platform.runLater(() -> showResponse(pending, reply, isExit));
+        });
+    }
+
+    private void showResponse(ChatMessage pending, String response, boolean isExit) {
+        ObservableList<ChatMessage> items = dialogList.getItems();
+        int index = items.lastIndexOf(pending);
+        if (index >= 0) {
+            items.set(index, ChatMessage.fromOmni(response));
+        } else {
+            addMessages(ChatMessage.fromOmni(response));
+        }
+        if (isExit) {
+            commandExecutor.shutdown();
             exitWithDelay(1);
         }
     }
@@ -76,9 +115,22 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Sets the greeting message from Omni and displays it in the dialog container.
+     * Appends messages to the history, dropping the oldest ones beyond the history cap,
+     * and scrolls to the newest message.
+     */
+    private void addMessages(ChatMessage... messages) {
+        ObservableList<ChatMessage> items = dialogList.getItems();
+        items.addAll(messages);
+        if (items.size() > historyCap) {
+            items.remove(0, items.size() - historyCap);
+        }
+        dialogList.scrollTo(items.size() - 1);
+    }
+
+    /**
+     * Sets the greeting message from Omni and displays it in the history.
      */
     public void setGreeting() {
-        dialogContainer.getChildren().addAll(DialogBox.getOmniDialog(omni.greet(), omniImage));
+        addMessages(ChatMessage.fromOmni(omni.greet()));
     }
 }
@@ -1,11 +1,15 @@
 package omni.app;
 
 import java.nio.file.Path;
+import java.util.List;
 
 import omni.exceptions.OmniException;
 import omni.parser.Parser;
 import omni.storage.Storage;
+import omni.storage.StorageMode;
 import omni.tasklist.TaskList;
+import omni.tasklist.TaskListLayout;
+import omni.tasks.Task;
 import omni.ui.Ui;
 
 /**
@@ -28,14 +32,79 @@ public class Omni {
      * @param filePath The path to the tasks storage file.
      */
     public Omni(Path filePath) {
-        assert filePath != null : "filePath cannot be null";
-        ui = new Ui();
-        storage = new Storage(filePath);
+        this(filePath, StorageMode.TEXT);
+    }
+
+    /**
+     * Constructs an Omni application that persists tasks using the given storage mode.
+     *
+     * @param filePath The path to the tasks storage file.
+     * @param mode The on-disk layout used for the tasks file.
+     */
+    public Omni(Path filePath, StorageMode mode) {
+        this(filePath, mode, false);
+    }
+
+    /**
+     * Constructs an Omni application that persists tasks using the given storage mode, optionally decoding
+     * tasks from the file only when they are first accessed.
+     *
+     * @param filePath The path to the tasks storage file.
+     * @param mode The on-disk layout used for the tasks file.
+     * @param isLazy Whether tasks are decoded on first access instead of at startup.
+     */
+    public Omni(Path filePath, StorageMode mode, boolean isLazy) {
+        this(new Storage(filePath, mode), isLazy);
+    }
+
+    /**
+     * Constructs an Omni application that persists tasks through the given storage.
+     *
+     * @param storage The storage to load tasks from and persist changes to.
+     * @param isLazy Whether tasks are decoded on first access instead of at startup.
+     */
+    public Omni(Storage storage, boolean isLazy) {
+        this(storage, isLazy, new Ui());
+    }
+
+    /**
+     * Constructs an Omni application that persists tasks through the given storage and renders replies with the
+     * given Ui.
+     *
+     * @param storage The storage to load tasks from and persist changes to.
+     * @param isLazy Whether tasks are decoded on first access instead of at startup.
+     * @param ui The Ui that renders replies.
+     */
+    public Omni(Storage storage, boolean isLazy, Ui ui) {
+        this(storage, isLazy, TaskListLayout.OBJECTS, ui);
+    }
+
+    /**
+     * Constructs an Omni application that persists tasks through the given storage, renders replies with the
+     * given Ui, and holds its tasks in memory in the given layout.
+     *
+     * @param storage The storage to load tasks from and persist changes to.
+     * @param isLazy Whether tasks are decoded on first access instead of at startup.
+     * @param layout How tasks are held in memory. Ignored if {@code isLazy} is set.
+     * @param ui The Ui that renders replies.
+     */
+    public Omni(Storage storage, boolean isLazy, TaskListLayout layout, Ui ui) {
+        assert storage != null : "storage cannot be null";
+        assert layout != null : "layout cannot be null";
+        assert ui != null : "ui cannot be null";
+        this.ui = ui;
+        this.storage = storage;
         try {
-            tasks = new TaskList(storage.loadTasks());
+            if (isLazy) {
+                tasks = new TaskList(storage.loadTasksLazily());
+            } else {
+                List<Task> loaded = layout.empty();
+                storage.loadTasks(loaded);
+                tasks = new TaskList(loaded);
+            }
         } catch (OmniException e) {
             ui.showLoadingError(e.getUserMessage());
-            tasks = new TaskList();
+            tasks = new TaskList(layout.empty());
         }
         parser = new Parser(ui, tasks, storage);
     }
@@ -52,6 +121,16 @@ public class Omni {
         return parser.handleInput(input);
     }
 
+    /**
+     * Returns whether the last input given to {@link #getResponse} was the bye command, so the application should
+     * close.
+     *
+     * @return True if the application should exit.
+     */
+    public boolean isExit() {
+        return parser.isExit();
+    }
+
     /**
      * Returns the greeting message for the application.
      * Used to display the initial welcome message to users.
@@ -0,0 +1,140 @@
+package omni.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Holds the latency histograms and counters of the running application, by name.
+ *
+ * <p>Names are dotted, with the part before the first dot grouping related metrics, such as
+ * {@code command.list} or {@code storage.append}. A metric is created the first time it is asked for and lives
+ * for the rest of the run. Hot paths look their metrics up once and keep them in a field, so recording into
+ * them costs no map lookup.
+ *
+ * @author Brandon Tan
+ */
+public final class Metrics {
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, Supplier<String>> GAUGES = new ConcurrentSkipListMap<>();
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private static ScheduledExecutorService dumper;
+
+    private Metrics() {}
+
+    /**
+     * Returns the latency histogram with the given name, creating it if needed.
+     *
+     * @param name The name of the histogram.
+     * @return The histogram.
+     */
+    public static LatencyHistogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Returns the counter with the given name, creating it if needed.
+     *
+     * @param name The name of the counter.
+     * @return The counter.
+     */
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Registers a value that is worked out afresh each time a report is made, replacing any earlier one with the
+     * same name.
+     *
+     * @param name The name of the value.
+     * @param value Supplies the value, already formatted for the report.
+     */
+    public static void gauge(String name, Supplier<String> value) {
+        GAUGES.put(name, value);
+    }
+
+    /**
+     * Returns a table of every histogram that has recorded a duration, with times in microseconds, followed by
+     * every counter and then every gauge, each in name order.
+     *
+     * @return The report.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-24s %9s %9s %9s %9s %9s%n", "(microseconds)", "count", "mean", "p50", "p99",
+                "max"));
+        for (Map.Entry<String, LatencyHistogram> entry : HISTOGRAMS.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            report.append(String.format("%-24s %9d %9s %9s %9s %9s%n", entry.getKey(), histogram.getCount(),
+                    toMicros(histogram.getMean()), toMicros(histogram.getPercentile(0.5)),
+                    toMicros(histogram.getPercentile(0.99)), toMicros(histogram.getMax())));
+        }
+        for (Map.Entry<String, LongAdder> entry : COUNTERS.entrySet()) {
+            report.append(String.format("%-24s %9d%n", entry.getKey(), entry.getValue().sum()));
+        }
+        for (Map.Entry<String, Supplier<String>> entry : GAUGES.entrySet()) {
+            report.append(String.format("%-24s %9s%n", entry.getKey(), entry.getValue().get()));
+        }
+        return report.toString();
+    }
+
+    private static String toMicros(long nanos) {
+        return String.format("%.1f", (double) nanos / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Writes the report to the given file now and then again at every interval, on a background thread, until
+     * the application exits. Each report replaces the previous one. Calling this again replaces the earlier
+     * schedule.
+     *
+     * @param file The file to write the report to.
+     * @param intervalSeconds The number of seconds between reports.
+     */
+    public static synchronized void startDumping(Path file, long intervalSeconds) {
+        assert intervalSeconds > 0 : "intervalSeconds must be positive";
+        if (dumper != null) {
+            dumper.shutdownNow();
+        }
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "omni-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> dump(file), 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Writes the report to the given file, replacing it in a single step so that readers never see half a report.
+     *
+     * @param file The file to write the report to.
+     * @throws IOException If the report cannot be written.
+     */
+    public static void writeReport(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path partial = parent.resolve(file.getFileName() + ".partial");
+        Files.writeString(partial, report());
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void dump(Path file) {
+        try {
+            writeReport(file);
+        } catch (IOException e) {
+            System.err.println("Unable to write metrics: " + e.getMessage());
+        }
+    }
+}
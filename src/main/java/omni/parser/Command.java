@@ -0,0 +1,136 @@
+package omni.parser;
+
+import omni.metrics.LatencyHistogram;
+import omni.metrics.Metrics;
+
+/**
+ * The commands understood by {@link Parser}, each with the time spent running it.
+ *
+ * <p>A command is looked up from the characters of the input itself, through a trie of every keyword and alias
+ * built once when the class is loaded, so no substring or lower-cased copy of the command word is made. Case is
+ * ignored, and a command may be shortened to any prefix that no other command shares, so {@code l} is
+ * {@code list} and {@code unm} is {@code unmark}. A word that is a whole keyword or alias always means that
+ * command, even when it also begins another one. {@code bye} must be typed in full, so that a slip such as
+ * {@code by} cannot end the session.
+ *
+ * @author Brandon Tan
+ */
+enum Command {
+    LIST("list"),
+    MARK("mark"),
+    UNMARK("unmark"),
+    TODO("todo"),
+    DEADLINE("deadline", "dl"),
+    EVENT("event"),
+    DELETE("delete"),
+    FIND("find"),
+    DUE("due"),
+    BETWEEN("between"),
+    UPDATE("update"),
+    STATS("stats"),
+    BYE(false, "bye");
+
+    private static final int ALPHABET_SIZE = 26;
+    private static final Node ROOT = new Node();
+
+    static {
+        for (Command command : values()) {
+            for (String keyword : command.keywords) {
+                insert(keyword, command);
+            }
+        }
+    }
+
+    private final boolean canAbbreviate;
+    private final String[] keywords;
+    private final LatencyHistogram latency;
+
+    Command(String... keywords) {
+        this(true, keywords);
+    }
+
+    Command(boolean canAbbreviate, String... keywords) {
+        this.canAbbreviate = canAbbreviate;
+        this.keywords = keywords;
+        this.latency = Metrics.histogram("command." + keywords[0]);
+    }
+
+    /**
+     * Returns the histogram of the time spent running this command.
+     *
+     * @return The latency histogram, named {@code command.<keyword>}.
+     */
+    LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Finds the command named by the characters between the given positions of the text.
+     *
+     * @param text The text holding the command word.
+     * @param start The position of the first character of the word.
+     * @param end The position after the last character of the word.
+     * @return The command, or null if the word names no command, could be short for more than one, or is short for
+     *     one that must be typed in full.
+     */
+    static Command lookup(CharSequence text, int start, int end) {
+        if (start == end) {
+            return null;
+        }
+        Node node = ROOT;
+        for (int i = start; i < end && node != null; i++) {
+            int letter = indexOf(text.charAt(i));
+            node = letter < 0 ? null : node.children[letter];
+        }
+        if (node == null) {
+            return null;
+        }
+        if (node.exact != null) {
+            return node.exact;
+        }
+        return node.onlyCommand != null && node.onlyCommand.canAbbreviate ? node.onlyCommand : null;
+    }
+
+    private static int indexOf(char c) {
+        int letter = (c | 0x20) - 'a';
+        return letter >= 0 && letter < ALPHABET_SIZE ? letter : -1;
+    }
+
+    private static void insert(String keyword, Command command) {
+        Node node = ROOT;
+        for (int i = 0; i < keyword.length(); i++) {
+            int letter = indexOf(keyword.charAt(i));
+            assert letter >= 0 : "keywords must only hold letters";
+            if (node.children[letter] == null) {
+                node.children[letter] = new Node();
+            }
+            node = node.children[letter];
+            node.addPrefixOf(command);
+        }
+        node.exact = command;
+    }
+
+    /**
+     * A node of the keyword trie, reached by the letters of a prefix.
+     */
+    private static final class Node {
+        private final Node[] children = new Node[ALPHABET_SIZE];
+        /** The command whose keyword or alias is exactly this prefix, if any. */
+        private Command exact;
+        /** The command that every keyword through this node belongs to, or null if there is more than one. */
+        private Command onlyCommand;
+        private boolean isShared;
+
+        private void addPrefixOf(Command command) {
+            if (isShared || onlyCommand == command) {
+                return;
+            }
+            if (onlyCommand == null) {
+                onlyCommand = command;
+                return;
+            }
+            onlyCommand = null;
+            isShared = true;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package omni.parser;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import omni.exceptions.InvalidArgumentException;
+
+/**
+ * Parses task dates in the form {@code DD-MM-YYYY} or {@code DD-MM-YYYY HHMM} into a single packed long. Any
+ * whitespace may separate the date from the time.
+ *
+ * <p>The text is read once, character by character, without splitting it or creating any intermediate strings,
+ * and the date is checked against the length of its month, so that {@code 31-02-2025} is rejected rather than
+ * rounded down to the end of February. The packed value holds the epoch day in its upper bits and, in its lowest
+ * {@value #TIME_BITS} bits, the minute of the day plus one, or zero if no time was given. Packed values therefore
+ * sort in date order, with a date on its own sorting before every time on that day.
+ *
+ * @author Brandon Tan
+ */
+public final class DateTimeParser {
+    /** The number of low bits of a packed value that hold its time. */
+    public static final int TIME_BITS = 11;
+
+    private static final String MESSAGE_INVALID_DATE = "Invalid date format! Check your date and time is in the form"
+            + " DD-MM-YYYY HHMM";
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final int DATE_LENGTH = 10;
+    private static final int TIME_LENGTH = 4;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MAX_YEAR = 9999;
+    private static final long DAYS_0000_TO_1970 = 719_528;
+
+    private DateTimeParser() {}
+
+    /**
+     * Parses a date with an optional time, ignoring any whitespace around it.
+     *
+     * @param text The text to parse, in the form DD-MM-YYYY [HHMM].
+     * @return The packed date and time.
+     * @throws InvalidArgumentException If the text is not a valid date in that form.
+     */
+    public static long parse(CharSequence text) throws InvalidArgumentException {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses the date with an optional time held between the given positions of the text, ignoring any whitespace
+     * around it.
+     *
+     * @param text The text holding the date.
+     * @param start The position of the first character to parse.
+     * @param end The position after the last character to parse.
+     * @return The packed date and time.
+     * @throws InvalidArgumentException If that part of the text is not a valid date in the form DD-MM-YYYY [HHMM].
+     */
+    public static long parse(CharSequence text, int start, int end) throws InvalidArgumentException {
+        assert text != null : "text cannot be null";
+        assert 0 <= start && start <= end && end <= text.length() : "range must lie within the text";
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start < DATE_LENGTH) {
+            throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
+        }
+        int day = readDigits(text, start, 2);
+        expect(text, start + 2, '-');
+        int month = readDigits(text, start + 3, 2);
+        expect(text, start + 5, '-');
+        int year = readDigits(text, start + 6, 4);
+        if (month < 1 || month > 12 || year < 1 || year > MAX_YEAR || day < 1 || day > lengthOfMonth(year, month)) {
+            throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
+        }
+        long packed = toEpochDay(year, month, day) << TIME_BITS;
+        int timeStart = start + DATE_LENGTH;
+        if (timeStart == end) {
+            return packed;
+        }
+        if (text.charAt(timeStart) > ' ') {
+            throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
+        }
+        while (text.charAt(timeStart) <= ' ') {
+            timeStart++;
+        }
+        if (end - timeStart != TIME_LENGTH) {
+            throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
+        }
+        int hour = readDigits(text, timeStart, 2);
+        int minute = readDigits(text, timeStart + 2, 2);
+        if (hour > 23 || minute >= MINUTES_PER_HOUR) {
+            throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
+        }
+        return packed | (hour * MINUTES_PER_HOUR + minute + 1);
+    }
+
+    private static int readDigits(CharSequence text, int start, int count) throws InvalidArgumentException {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void expect(CharSequence text, int position, char expected) throws InvalidArgumentException {
+        if (text.charAt(position) != expected) {
+            throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+        case 2 -> isLeapYear(year) ? 29 : 28;
+        case 4, 6, 9, 11 -> 30;
+        default -> 31;
+        };
+    }
+
+    /**
+     * Counts the days from 1970-01-01 the same way as {@link LocalDate#toEpochDay()}, for years from 1 onwards.
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total -= isLeapYear(year) ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Packs a date and an optional time in the same way as {@link #parse(CharSequence)}.
+     *
+     * @param date The date.
+     * @param time The time, or null if there is none.
+     * @return The packed date and time.
+     */
+    public static long pack(LocalDate date, LocalTime time) {
+        assert date != null : "date cannot be null";
+        long packed = date.toEpochDay() << TIME_BITS;
+        return time == null ? packed : packed | (time.getHour() * MINUTES_PER_HOUR + time.getMinute() + 1);
+    }
+
+    /**
+     * Returns the date of a packed date and time.
+     *
+     * @param packed The packed date and time.
+     * @return The date.
+     */
+    public static LocalDate toDate(long packed) {
+        return LocalDate.ofEpochDay(packed >> TIME_BITS);
+    }
+
+    /**
+     * Returns whether a packed date and time has a time.
+     *
+     * @param packed The packed date and time.
+     * @return True if a time was given with the date.
+     */
+    public static boolean hasTime(long packed) {
+        return (packed & TIME_MASK) != 0;
+    }
+
+    /**
+     * Returns the time of a packed date and time.
+     *
+     * @param packed The packed date and time.
+     * @return The time, or null if only a date was given.
+     */
+    public static LocalTime toTime(long packed) {
+        if (!hasTime(packed)) {
+            return null;
+        }
+        int minuteOfDay = (int) (packed & TIME_MASK) - 1;
+        return LocalTime.of(minuteOfDay / MINUTES_PER_HOUR, minuteOfDay % MINUTES_PER_HOUR);
+    }
+}
@@ -4,14 +4,16 @@ import static java.lang.Integer.parseInt;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.BitSet;
 
 import omni.exceptions.InvalidArgumentException;
 import omni.exceptions.OmniException;
 import omni.exceptions.UnknownCommandException;
+import omni.metrics.LatencyHistogram;
+import omni.metrics.Metrics;
 import omni.storage.Storage;
 import omni.tasklist.TaskList;
 import omni.tasks.Deadline;
@@ -29,26 +31,28 @@ import omni.ui.Ui;
  * @author Brandon Tan
  */
 public class Parser {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
-    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmm");
-
-    private static final String MESSAGE_INVALID_DATE = "Invalid date format! Check your date and time is in the form"
-            + " DD-MM-YYYY HHMM";
     private static final String MESSAGE_INVALID_EVENT_FORMAT = "Unable to set event,"
             + " remember to use /from and /to in that order!";
     private static final String MESSAGE_INVALID_DEADLINE_FORMAT = "Unable to set deadline,"
             + " remember to use /by to specify your deadline!";
+    private static final String MESSAGE_INVALID_LIST_COMMAND = "Invalid list command. Try again.";
     private static final String MESSAGE_INVALID_DELETE_COMMAND = "Invalid delete command. Try again.";
     private static final String MESSAGE_INVALID_MARK_COMMAND = "Invalid mark command. Try again.";
     private static final String MESSAGE_INVALID_UNMARK_COMMAND = "Invalid unmark command. Try again.";
     private static final String MESSAGE_INVALID_UPDATE_COMMAND = "Invalid update command. Try again.";
+    private static final String MESSAGE_INVALID_DUE_COMMAND = "Invalid due command. Try due DD-MM-YYYY!";
+    private static final String MESSAGE_INVALID_BETWEEN_COMMAND = "Invalid between command."
+            + " Try between DD-MM-YYYY [HHMM] DD-MM-YYYY [HHMM]!";
 
     private static final int MIN_UPDATE_ARGS = 3;
     private static final int TASK_INDEX_POSITION = 0;
 
+    private static final LatencyHistogram UNKNOWN_COMMAND_LATENCY = Metrics.histogram("command.unknown");
+
     private Ui ui;
     private TaskList tasks;
     private Storage storage;
+    private boolean isExit;
 
     /**
      * Constructs a Parser with the specified UI, TaskList, and Storage objects.
@@ -67,58 +71,140 @@ public class Parser {
     }
 
     /**
-     * Displays the list of all tasks to the user.
+     * Displays a page of the list of tasks to the user.
+     *
+     * @param arg The page number, or an empty string for the first page.
+     * @return Reply string for the user.
+     * @throws InvalidArgumentException If the page number is invalid or the page doesn't exist.
      */
-    private String handleList() {
-        return ui.showTasks(tasks);
+    private String handleList(String arg) throws InvalidArgumentException {
+        if (arg.isBlank()) {
+            return ui.showTasks(tasks);
+        }
+        try {
+            int page = parseInt(arg.trim());
+            int pageCount = tasks.getPageCount(Ui.LIST_PAGE_SIZE);
+            if (page < 1 || page > pageCount) {
+                throw new InvalidArgumentException("That page does not exist! Pick a page from 1 to "
+                        + pageCount + ".");
+            }
+            return ui.showTasks(tasks, page);
+        } catch (NumberFormatException e) {
+            throw new InvalidArgumentException(MESSAGE_INVALID_LIST_COMMAND);
+        }
     }
 
     /**
-     * Marks a task as done based on the given task number.
+     * Marks tasks as done based on the given task numbers.
      *
-     * @param n The task number as a string.
+     * @param n The task numbers and ranges of task numbers as a string, such as "3,7,10-40".
      * @return Reply string for the user.
-     * @throws InvalidArgumentException If the task number is invalid or task doesn't exist.
+     * @throws InvalidArgumentException If a task number is invalid or a task doesn't exist.
      * @throws IOException              If an I/O error occurs during storage update.
      */
     private String handleMark(String n) throws InvalidArgumentException, IOException {
-        int num = getIndexFromString(n, MESSAGE_INVALID_MARK_COMMAND);
-        Task markedTask = tasks.markTaskDone(num);
-        storage.rewriteTask(markedTask, num);
-        return ui.showMarked(markedTask);
+        int[] nums = getIndicesFromString(n, MESSAGE_INVALID_MARK_COMMAND);
+        if (nums.length == 1) {
+            Task markedTask = tasks.markTaskDone(nums[0]);
+            storage.rewriteTaskStatus(markedTask, nums[0]);
+            return ui.showMarked(markedTask);
+        }
+        ArrayList<Task> markedTasks = tasks.markTasksDone(nums);
+        storage.rewriteTaskStatuses(markedTasks, nums);
+        return ui.showMarked(markedTasks);
     }
 
     /**
-     * Marks a task as not done based on the given task number.
+     * Marks tasks as not done based on the given task numbers.
      *
-     * @param n The task number as a string.
-     * @throws InvalidArgumentException If the task number is invalid or task doesn't exist.
+     * @param n The task numbers and ranges of task numbers as a string, such as "3,7,10-40".
+     * @throws InvalidArgumentException If a task number is invalid or a task doesn't exist.
      * @throws IOException              If an I/O error occurs during storage update.
      */
     private String handleUnmark(String n) throws InvalidArgumentException, IOException {
-        int num = getIndexFromString(n, MESSAGE_INVALID_UNMARK_COMMAND);
-        Task unmarkedTask = tasks.unmarkTaskDone(num);
-        storage.rewriteTask(unmarkedTask, num);
-        return ui.showUnmarked(unmarkedTask);
+        int[] nums = getIndicesFromString(n, MESSAGE_INVALID_UNMARK_COMMAND);
+        if (nums.length == 1) {
+            Task unmarkedTask = tasks.unmarkTaskDone(nums[0]);
+            storage.rewriteTaskStatus(unmarkedTask, nums[0]);
+            return ui.showUnmarked(unmarkedTask);
+        }
+        ArrayList<Task> unmarkedTasks = tasks.unmarkTasksDone(nums);
+        storage.rewriteTaskStatuses(unmarkedTasks, nums);
+        return ui.showUnmarked(unmarkedTasks);
     }
 
     /**
-     * Deletes a task based on the given task index.
+     * Deletes tasks based on the given task numbers. Several tasks are removed from the list in one pass and
+     * erased from storage with a single write.
      *
-     * @param n The task number as a string.
-     * @throws InvalidArgumentException If the task number is invalid or task doesn't exist.
+     * @param n The task numbers and ranges of task numbers as a string, such as "3,7,10-40".
+     * @throws InvalidArgumentException If a task number is invalid or a task doesn't exist.
      * @throws IOException              If an I/O error occurs during storage update.
      */
     private String handleDelete(String n) throws InvalidArgumentException, IOException {
-        int num = getIndexFromString(n, MESSAGE_INVALID_DELETE_COMMAND);
-        Task removedTask = tasks.removeTask(num);
-        storage.eraseTask(num);
-        return ui.showErased(removedTask);
+        int[] nums = getIndicesFromString(n, MESSAGE_INVALID_DELETE_COMMAND);
+        if (nums.length == 1) {
+            Task removedTask = tasks.removeTask(nums[0]);
+            storage.eraseTask(nums[0]);
+            return ui.showErased(removedTask);
+        }
+        ArrayList<Task> removedTasks = tasks.removeTasks(nums);
+        storage.eraseTasks(nums);
+        return ui.showErased(removedTasks);
+    }
+
+    /**
+     * Parses comma-separated task numbers and ranges of task numbers, such as "3,7,10-40".
+     *
+     * @return The distinct 0-indexed positions of the tasks, in increasing order.
+     */
+    private int[] getIndicesFromString(String n, String invalidCommandMessage) throws InvalidArgumentException {
+        BitSet indices = new BitSet();
+        int start = 0;
+        while (start <= n.length()) {
+            int end = n.indexOf(',', start);
+            if (end < 0) {
+                end = n.length();
+            }
+            addIndices(n, start, end, indices, invalidCommandMessage);
+            start = end + 1;
+        }
+        return indices.stream().toArray();
+    }
+
+    private void addIndices(String n, int start, int end, BitSet indices, String invalidCommandMessage)
+            throws InvalidArgumentException {
+        start = skipWhitespace(n, start, end);
+        int dash = start < end ? n.indexOf('-', start + 1) : -1;
+        if (dash < 0 || dash >= end) {
+            indices.set(getIndexFromString(n, start, end, invalidCommandMessage));
+            return;
+        }
+        int first = getIndexFromString(n, start, dash, invalidCommandMessage);
+        int last = getIndexFromString(n, dash + 1, end, invalidCommandMessage);
+        if (first > last) {
+            throw new InvalidArgumentException(invalidCommandMessage);
+        }
+        indices.set(first, last + 1);
     }
 
     private int getIndexFromString(String n, String invalidCommandMessage) throws InvalidArgumentException {
+        return getIndexFromString(n, 0, n.length(), invalidCommandMessage);
+    }
+
+    /**
+     * Reads the task number between the given positions of the text, ignoring any whitespace around it.
+     *
+     * @return The 0-indexed position of the task.
+     */
+    private int getIndexFromString(String n, int start, int end, String invalidCommandMessage)
+            throws InvalidArgumentException {
+        start = skipWhitespace(n, start, end);
+        while (end > start && isWhitespace(n.charAt(end - 1))) {
+            end--;
+        }
         try {
-            int index = parseInt(n);
+            int index = parseInt(n, start, end, 10);
             if (index > tasks.getSize() || index < 1) {
                 throw new InvalidArgumentException("That task does not exist! Try again!");
             }
@@ -175,72 +261,13 @@ public class Parser {
      */
     public static boolean checkValidDateString(String firstDate, String... additionalDates)
             throws InvalidArgumentException {
-        validateSingleDate(firstDate);
+        DateTimeParser.parse(firstDate);
         for (String date : additionalDates) {
-            validateSingleDate(date);
+            DateTimeParser.parse(date);
         }
         return true;
     }
 
-    private static void validateSingleDate(String date) throws InvalidArgumentException {
-        parseDateFromDateTime(date);
-        parseTimeFromDateTime(date);
-    }
-
-    private static void validateDateFormat(String date) throws InvalidArgumentException {
-        String[] dateAndTime = date.split(" ");
-        if (dateAndTime.length > 2) {
-            throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
-        }
-    }
-
-    private static LocalDate parseDate(String dateStr) throws InvalidArgumentException {
-        try {
-            return LocalDate.parse(dateStr.trim(), DATE_FORMATTER);
-        } catch (DateTimeParseException e) {
-            throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
-        }
-    }
-
-    private static LocalTime parseTime(String timeStr) throws InvalidArgumentException {
-        try {
-            return LocalTime.parse(timeStr.trim(), TIME_FORMATTER);
-        } catch (DateTimeParseException e) {
-            throw new InvalidArgumentException(MESSAGE_INVALID_DATE);
-        }
-    }
-
-    /**
-     * Parses and returns the {@link LocalDate} from a date-time string.
-     * The expected format is "DD-MM-YYYY HHMM".
-     *
-     * @param date The date-time string to parse.
-     * @return The parsed {@link LocalDate}.
-     * @throws InvalidArgumentException If the date format is invalid.
-     */
-    public static LocalDate parseDateFromDateTime(String date) throws InvalidArgumentException {
-        validateDateFormat(date);
-        String dateStr = date.split(" ")[0].trim();
-        return parseDate(dateStr);
-    }
-
-    /**
-     * Parses and returns the {@link LocalTime} from a date-time string.
-     * The expected format is "DD-MM-YYYY HHMM".
-     *
-     * @param date The date-time string to parse.
-     * @return The parsed {@link LocalTime}, or null if no time is present.
-     * @throws InvalidArgumentException If the time format is invalid.
-     */
-    public static LocalTime parseTimeFromDateTime(String date) throws InvalidArgumentException {
-        validateDateFormat(date);
-        String[] dateAndTime = date.split(" ");
-        if (dateAndTime.length <= 1) {
-            return null;
-        }
-        return parseTime(dateAndTime[1]);
-    }
-
     /**
      * Creates and adds a new deadline task.
      *
@@ -249,29 +276,35 @@ public class Parser {
      * @throws IOException              If an I/O error occurs during storage write.
      */
     private String handleDeadline(String arg) throws InvalidArgumentException, IOException {
-        String[] parts = getDeadlineParts(arg);
-        String description = getDeadlineDescription(parts);
-        String date = parts[1].trim();
-        checkValidDateString(date);
+        int byTag = getTagPosition(arg, "/by", 0, MESSAGE_INVALID_DEADLINE_FORMAT);
+        String description = getDeadlineDescription(arg, byTag);
+        long by = DateTimeParser.parse(arg, byTag + "/by".length(), arg.length());
 
-        Deadline newDeadline = new Deadline(description, false, date);
+        Deadline newDeadline = new Deadline(description, false, DateTimeParser.toDate(by),
+                DateTimeParser.toTime(by));
         return handleAddTask(newDeadline);
     }
 
-    private static String getDeadlineDescription(String[] parts) throws InvalidArgumentException {
-        String description = parts[0].trim();
+    private static String getDeadlineDescription(String arg, int byTag) throws InvalidArgumentException {
+        String description = arg.substring(0, byTag).trim();
         if (description.isEmpty()) {
             throw new InvalidArgumentException("Give your deadline a description!");
         }
         return description;
     }
 
-    private static String[] getDeadlineParts(String arg) throws InvalidArgumentException {
-        String[] parts = arg.split("/by", 2);
-        if (parts.length < 2) {
-            throw new InvalidArgumentException(MESSAGE_INVALID_DEADLINE_FORMAT);
+    /**
+     * Returns the position of the first occurrence of a tag, such as "/by", at or after the given position.
+     *
+     * @throws InvalidArgumentException If the tag is missing.
+     */
+    private static int getTagPosition(String arg, String tag, int from, String invalidFormatMessage)
+            throws InvalidArgumentException {
+        int position = arg.indexOf(tag, from);
+        if (position < 0) {
+            throw new InvalidArgumentException(invalidFormatMessage);
         }
-        return parts;
+        return position;
     }
 
     /**
@@ -282,41 +315,25 @@ public class Parser {
      * @throws IOException              If an I/O error occurs during storage write.
      */
     private String handleEvent(String arg) throws InvalidArgumentException, IOException {
-        String[] parts = getEventParts(arg);
-        String description = getEventDescription(parts);
-        String[] dates = getDates(parts);
-        String from = dates[0].trim();
-        String to = dates[1].trim();
-        checkValidDateString(from, to);
-
-        Event newEvent = new Event(description, false, from, to);
+        int fromTag = getTagPosition(arg, "/from", 0, MESSAGE_INVALID_EVENT_FORMAT);
+        String description = getEventDescription(arg, fromTag);
+        int toTag = getTagPosition(arg, "/to", fromTag + "/from".length(), MESSAGE_INVALID_EVENT_FORMAT);
+        long from = DateTimeParser.parse(arg, fromTag + "/from".length(), toTag);
+        long to = DateTimeParser.parse(arg, toTag + "/to".length(), arg.length());
+
+        Event newEvent = new Event(description, false, DateTimeParser.toDate(from), DateTimeParser.toTime(from),
+                DateTimeParser.toDate(to), DateTimeParser.toTime(to));
         return handleAddTask(newEvent);
     }
 
-    private static String[] getDates(String[] parts) throws InvalidArgumentException {
-        String[] dates = parts[1].trim().split("/to", 2);
-        if (dates.length < 2) {
-            throw new InvalidArgumentException(MESSAGE_INVALID_EVENT_FORMAT);
-        }
-        return dates;
-    }
-
-    private static String getEventDescription(String[] parts) throws InvalidArgumentException {
-        String description = parts[0].trim();
+    private static String getEventDescription(String arg, int fromTag) throws InvalidArgumentException {
+        String description = arg.substring(0, fromTag).trim();
         if (description.isEmpty()) {
             throw new InvalidArgumentException("Give your event a description!");
         }
         return description;
     }
 
-    private static String[] getEventParts(String arg) throws InvalidArgumentException {
-        String[] parts = arg.split("/from", 2);
-        if (parts.length < 2) {
-            throw new InvalidArgumentException(MESSAGE_INVALID_EVENT_FORMAT);
-        }
-        return parts;
-    }
-
     /**
      * Finds tasks containing the keyword.
      *
@@ -327,6 +344,64 @@ public class Parser {
         return ui.showMatchingTasks(matchingTasks);
     }
 
+    /**
+     * Finds the deadlines and events dated on the given day.
+     *
+     * @param arg The date, in the form DD-MM-YYYY.
+     * @return The deadlines and events on that day.
+     * @throws InvalidArgumentException If the date is missing or invalid.
+     */
+    private String handleDue(String arg) throws InvalidArgumentException {
+        String date = arg.trim();
+        if (date.isEmpty()) {
+            throw new InvalidArgumentException(MESSAGE_INVALID_DUE_COMMAND);
+        }
+        long packed = DateTimeParser.parse(date);
+        if (DateTimeParser.hasTime(packed)) {
+            throw new InvalidArgumentException(MESSAGE_INVALID_DUE_COMMAND);
+        }
+        LocalDate day = DateTimeParser.toDate(packed);
+        return ui.showTasksInRange(tasks.findTasksBetween(day.atStartOfDay(), day.atTime(LocalTime.MAX)));
+    }
+
+    /**
+     * Finds the deadlines and events dated within an inclusive range.
+     * A bound given without a time covers the whole of its day.
+     *
+     * @param arg The start and end of the range, each in the form DD-MM-YYYY [HHMM].
+     * @return The deadlines and events in the range.
+     * @throws InvalidArgumentException If a bound is missing or invalid, or the range ends before it starts.
+     */
+    private String handleBetween(String arg) throws InvalidArgumentException {
+        int endBound = getEndBoundPosition(arg);
+        long start = DateTimeParser.parse(arg, 0, endBound);
+        long end = DateTimeParser.parse(arg, endBound, arg.length());
+        LocalDateTime from = DateTimeParser.toDate(start)
+                .atTime(DateTimeParser.hasTime(start) ? DateTimeParser.toTime(start) : LocalTime.MIN);
+        LocalDateTime to = DateTimeParser.toDate(end)
+                .atTime(DateTimeParser.hasTime(end) ? DateTimeParser.toTime(end) : LocalTime.MAX);
+        if (from.isAfter(to)) {
+            throw new InvalidArgumentException("The start of the range must not be after its end!");
+        }
+        return ui.showTasksInRange(tasks.findTasksBetween(from, to));
+    }
+
+    /**
+     * Returns the position where the end of a range begins, which is the second word holding a date.
+     */
+    private static int getEndBoundPosition(String arg) throws InvalidArgumentException {
+        int wordEnd = skipWord(arg, skipWhitespace(arg, 0, arg.length()));
+        while (wordEnd < arg.length()) {
+            int wordStart = skipWhitespace(arg, wordEnd, arg.length());
+            wordEnd = skipWord(arg, wordStart);
+            int dash = arg.indexOf('-', wordStart);
+            if (dash >= 0 && dash < wordEnd) {
+                return wordStart;
+            }
+        }
+        throw new InvalidArgumentException(MESSAGE_INVALID_BETWEEN_COMMAND);
+    }
+
     /**
      * Updates a task with new values based on the provided arguments.
      * Expects format: "index /tag newValue" (e.g., "1 /desc new description").
@@ -343,7 +418,7 @@ public class Parser {
     }
 
     private String[] parseUpdateArgs(String arg) throws InvalidArgumentException {
-        String[] args = arg.split("\\s+");
+        String[] args = splitWords(arg);
         if (args.length < MIN_UPDATE_ARGS) {
             throw new InvalidArgumentException(MESSAGE_INVALID_UPDATE_COMMAND);
         }
@@ -426,7 +501,6 @@ public class Parser {
         if (argIndex + 1 < args.length && !isUpdateTag(args[argIndex + 1])) {
             date = date + " " + args[argIndex + 1];
         }
-        checkValidDateString(date);
         return date;
     }
 
@@ -447,6 +521,18 @@ public class Parser {
 
 
 
+    /**
+     * Writes any changes still waiting in storage, then says goodbye.
+     *
+     * @return The exit message.
+     * @throws IOException If the pending changes cannot be written.
+     */
+    private String handleBye() throws IOException {
+        storage.flush();
+        isExit = true;
+        return ui.exit();
+    }
+
     /**
      * Handles user input and executes the corresponding command.
      *
@@ -455,31 +541,103 @@ public class Parser {
      */
     public String handleInput(String input) {
         assert input != null : "input cannot be null";
-        String[] parts = input.split("\\s+", 2);
-        String cmd = parts[0];
-        String arg = parts.length > 1 ? parts[1] : "";
-        return handleCommand(cmd, arg);
+        isExit = false;
+        int commandStart = skipWhitespace(input, 0, input.length());
+        int commandEnd = skipWord(input, commandStart);
+        Command command = Command.lookup(input, commandStart, commandEnd);
+        String arg = input.substring(skipWhitespace(input, commandEnd, input.length()));
+        return handleCommand(command, arg);
     }
 
-    private String handleCommand(String cmd, String arg) {
+    /**
+     * Returns whether the last input handled was a bye command, however it was spelt, whose pending changes were
+     * all saved, so the caller should close.
+     *
+     * @return True if the application should exit.
+     */
+    public boolean isExit() {
+        return isExit;
+    }
+
+    /**
+     * Executes a command, recording how long it took under {@code command.<name>} in {@link Metrics}.
+     *
+     * @param command The command to run, or null if the input named no command.
+     * @param arg The rest of the input after the command word.
+     */
+    private String handleCommand(Command command, String arg) {
+        long start = System.nanoTime();
+        if (command == null) {
+            try {
+                return ui.showUnknownCommandError();
+            } finally {
+                UNKNOWN_COMMAND_LATENCY.recordSince(start);
+            }
+        }
         try {
-            return switch (cmd.toLowerCase()) {
-            case "list" -> handleList();
-            case "mark" -> handleMark(arg);
-            case "unmark" -> handleUnmark(arg);
-            case "todo" -> handleTodo(arg);
-            case "deadline" -> handleDeadline(arg);
-            case "event" -> handleEvent(arg);
-            case "delete" -> handleDelete(arg);
-            case "find" -> handleFind(arg);
-            case "update" -> handleUpdate(arg);
-            case "bye" -> ui.exit();
-            default -> ui.showUnknownCommandError();
+            return switch (command) {
+            case LIST -> handleList(arg);
+            case MARK -> handleMark(arg);
+            case UNMARK -> handleUnmark(arg);
+            case TODO -> handleTodo(arg);
+            case DEADLINE -> handleDeadline(arg);
+            case EVENT -> handleEvent(arg);
+            case DELETE -> handleDelete(arg);
+            case FIND -> handleFind(arg);
+            case DUE -> handleDue(arg);
+            case BETWEEN -> handleBetween(arg);
+            case UPDATE -> handleUpdate(arg);
+            case STATS -> ui.showStats(Metrics.report());
+            case BYE -> handleBye();
             };
         } catch (OmniException e) {
             return e.getUserMessage();
         } catch (IOException e) {
             return e.getMessage();
+        } finally {
+            command.getLatency().recordSince(start);
+        }
+    }
+
+    /**
+     * Returns whether a character separates words, matching the characters of the regex {@code \s}.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Returns the position of the first character at or after {@code start}, and before {@code end}, that is not
+     * whitespace, or {@code end} if there is none.
+     */
+    private static int skipWhitespace(String text, int start, int end) {
+        while (start < end && isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the position after the word that begins at {@code start}.
+     */
+    private static int skipWord(String text, int start) {
+        while (start < text.length() && !isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Splits the text into its words, dropping the whitespace between them.
+     */
+    private static String[] splitWords(String text) {
+        ArrayList<String> words = new ArrayList<>();
+        int start = skipWhitespace(text, 0, text.length());
+        while (start < text.length()) {
+            int end = skipWord(text, start);
+            words.add(text.substring(start, end));
+            start = skipWhitespace(text, end, text.length());
         }
+        return words.toArray(new String[0]);
     }
 }
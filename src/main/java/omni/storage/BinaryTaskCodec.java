@@ -0,0 +1,283 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import omni.exceptions.CorruptedFileException;
+import omni.exceptions.OmniException;
+import omni.tasks.Deadline;
+import omni.tasks.Event;
+import omni.tasks.Task;
+import omni.tasks.Todo;
+
+/**
+ * Encodes and decodes tasks in the compact binary task file format.
+ *
+ * <p>A binary task file starts with the magic bytes {@code OMNI} and a version byte, followed by one record per
+ * task. Each record is a tag byte (task type in the low bits, done flag in the high bit), the UTF-8 description
+ * prefixed by its varint length and, for deadlines and events, an epoch-day int and a minute-of-day int
+ * (-1 when there is no time) per date. Decoding never splits strings or parses date strings.
+ *
+ * @author Brandon Tan
+ */
+public final class BinaryTaskCodec {
+    static final byte VERSION = 1;
+    static final int HEADER_LENGTH = 5;
+
+    private static final byte[] MAGIC = {'O', 'M', 'N', 'I'};
+    private static final int TODO_TAG = 0;
+    private static final int DEADLINE_TAG = 1;
+    private static final int EVENT_TAG = 2;
+    private static final int TYPE_MASK = 0x7F;
+    private static final int DONE_FLAG = 0x80;
+    private static final int NO_TIME = -1;
+
+    private BinaryTaskCodec() {}
+
+    /**
+     * Returns true if the file at the given path starts with the binary task file header.
+     *
+     * @param path The file to check.
+     * @return True if the file is a binary task file.
+     * @throws IOException If the file cannot be read.
+     */
+    static boolean isBinaryFile(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        byte[] header = new byte[MAGIC.length];
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.readNBytes(header, 0, header.length) == header.length && isMagic(header);
+        }
+    }
+
+    private static boolean isMagic(byte[] header) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the file header into the buffer.
+     *
+     * @param buffer The buffer to write into.
+     */
+    static void writeHeader(GrowableBuffer buffer) {
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+    }
+
+    /**
+     * Encodes a single task record into the buffer.
+     *
+     * @param task The task to encode.
+     * @param buffer The buffer to write into.
+     */
+    static void encode(Task task, GrowableBuffer buffer) {
+        int doneFlag = task.isDone() ? DONE_FLAG : 0;
+        if (task instanceof Deadline deadline) {
+            buffer.put((byte) (DEADLINE_TAG | doneFlag));
+            putDescription(task, buffer);
+            putDateTime(deadline.getDate(), deadline.getTime(), buffer);
+        } else if (task instanceof Event event) {
+            buffer.put((byte) (EVENT_TAG | doneFlag));
+            putDescription(task, buffer);
+            putDateTime(event.getStartDate(), event.getStartTime(), buffer);
+            putDateTime(event.getEndDate(), event.getEndTime(), buffer);
+        } else {
+            buffer.put((byte) (TODO_TAG | doneFlag));
+            putDescription(task, buffer);
+        }
+    }
+
+    private static void putDescription(Task task, GrowableBuffer buffer) {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        buffer.putVarInt(description.length);
+        buffer.put(description);
+    }
+
+    private static void putDateTime(LocalDate date, LocalTime time, GrowableBuffer buffer) {
+        buffer.putInt((int) date.toEpochDay());
+        buffer.putInt(time == null ? NO_TIME : time.getHour() * 60 + time.getMinute());
+    }
+
+    /**
+     * Decodes every task in a binary task file, header included.
+     *
+     * @param bytes The contents of the file.
+     * @param tasks The list the decoded tasks are appended to, in file order.
+     * @throws OmniException If the header or a record is malformed.
+     */
+    static void decodeAll(ByteBuffer bytes, List<Task> tasks) throws OmniException {
+        checkHeader(bytes);
+        Decoder decoder = new Decoder();
+        while (bytes.hasRemaining()) {
+            tasks.add(decoder.decode(bytes));
+        }
+    }
+
+    private static void checkHeader(ByteBuffer bytes) throws CorruptedFileException {
+        if (bytes.remaining() < HEADER_LENGTH) {
+            throw new CorruptedFileException("Binary task file header missing.");
+        }
+        byte[] magic = new byte[MAGIC.length];
+        bytes.get(magic);
+        if (!isMagic(magic)) {
+            throw new CorruptedFileException("Binary task file header invalid.");
+        }
+        byte version = bytes.get();
+        if (version != VERSION) {
+            throw new CorruptedFileException("Binary task file version " + version + " not supported.");
+        }
+    }
+
+    /**
+     * Decodes records one at a time, reusing a scratch array for descriptions.
+     */
+    static class Decoder {
+        private byte[] scratch = new byte[64];
+
+        /**
+         * Decodes the record at the buffer's position and advances past it.
+         *
+         * @param bytes The buffer positioned at the start of a record.
+         * @return The decoded task.
+         * @throws OmniException If the record is malformed.
+         */
+        Task decode(ByteBuffer bytes) throws OmniException {
+            int recordStart = bytes.position();
+            try {
+                int tag = bytes.get() & 0xFF;
+                boolean isDone = (tag & DONE_FLAG) != 0;
+                String description = getDescription(bytes);
+                return switch (tag & TYPE_MASK) {
+                case TODO_TAG -> new Todo(description, isDone);
+                case DEADLINE_TAG -> new Deadline(description, isDone, getDate(bytes), getTime(bytes));
+                case EVENT_TAG -> new Event(description, isDone, getDate(bytes), getTime(bytes),
+                        getDate(bytes), getTime(bytes));
+                default -> throw new CorruptedFileException("Task type not found at byte " + recordStart + ".");
+                };
+            } catch (BufferUnderflowException | DateTimeException e) {
+                throw new CorruptedFileException("Binary task record invalid at byte " + recordStart + ".");
+            }
+        }
+
+        private String getDescription(ByteBuffer bytes) throws CorruptedFileException {
+            int length = getVarInt(bytes);
+            if (length < 0 || length > bytes.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            bytes.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int getVarInt(ByteBuffer bytes) throws CorruptedFileException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = bytes.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new CorruptedFileException("Binary task record length invalid.");
+    }
+
+    private static LocalDate getDate(ByteBuffer bytes) {
+        return LocalDate.ofEpochDay(bytes.getInt());
+    }
+
+    private static LocalTime getTime(ByteBuffer bytes) {
+        int minuteOfDay = bytes.getInt();
+        return minuteOfDay == NO_TIME ? null : LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    /**
+     * Reads every task from a binary task file.
+     *
+     * @param path The binary task file.
+     * @param tasks The list the decoded tasks are appended to, in file order.
+     * @throws OmniException If the file is corrupted or cannot be read.
+     */
+    static void read(Path path, List<Task> tasks) throws OmniException {
+        ByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            bytes = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+                // Keep reading until the buffer is full.
+            }
+        } catch (IOException | ArithmeticException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+        StorageMetrics.BYTES_READ.add(bytes.position());
+        decodeAll(bytes.flip(), tasks);
+    }
+
+    /**
+     * Writes the header and all tasks to a binary task file, replacing its contents in a single step, so that a
+     * crash part-way through leaves the previous contents in place.
+     *
+     * @param path The binary task file.
+     * @param tasks The tasks to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    static void write(Path path, List<Task> tasks) throws IOException {
+        GrowableBuffer buffer = new GrowableBuffer(HEADER_LENGTH + tasks.size() * 32);
+        writeHeader(buffer);
+        for (Task task : tasks) {
+            encode(task, buffer);
+        }
+        StorageMetrics.writeAtomically(path, buffer.toByteArray());
+    }
+
+    /**
+     * Converts a text task file into a binary task file. The conversion is lossless.
+     *
+     * @param textFile The existing text task file.
+     * @param binaryFile The binary task file to create or replace.
+     * @throws OmniException If the text file is corrupted or cannot be read.
+     * @throws IOException If the binary file cannot be written.
+     */
+    public static void convertTextToBinary(Path textFile, Path binaryFile) throws OmniException, IOException {
+        List<Task> tasks = new ArrayList<>();
+        new TextTaskStore(textFile).load(tasks);
+        write(binaryFile, tasks);
+    }
+
+    /**
+     * Converts a binary task file into a text task file. The conversion is lossless.
+     *
+     * @param binaryFile The existing binary task file.
+     * @param textFile The text task file to create or replace.
+     * @throws OmniException If the binary file is corrupted or cannot be read.
+     * @throws IOException If the text file cannot be written.
+     */
+    public static void convertBinaryToText(Path binaryFile, Path textFile) throws OmniException, IOException {
+        List<Task> tasks = new ArrayList<>();
+        read(binaryFile, tasks);
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.getEntryString());
+        }
+        StorageMetrics.writeLines(textFile, lines);
+    }
+}
@@ -0,0 +1,143 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import omni.exceptions.CorruptedFileException;
+import omni.exceptions.OmniException;
+import omni.tasks.Task;
+
+/**
+ * Stores tasks in the binary format described by {@link BinaryTaskCodec}.
+ * Records are self-delimiting, so appends are written in place; other mutations rewrite the whole file.
+ * The binary file sits beside the text task file, named after it with a {@code .bin} extension, so that
+ * {@code tasks.txt} is kept in {@code tasks.bin}. The first time it is loaded, it is created from the tasks in the
+ * text file, which is left unchanged and is not kept up to date afterwards. A binary file at the text file's own
+ * path, such as one converted in place by an earlier version, is used as it is.
+ * Every rewrite, the conversion included, writes a new file beside the old one and moves it into place, so the
+ * previous contents survive a crash part-way through.
+ *
+ * @author Brandon Tan
+ */
+class BinaryTaskStore implements TaskStore {
+    private final Path textPath;
+    private Path tasksPath;
+
+    /**
+     * Constructs a BinaryTaskStore for the specified task file.
+     *
+     * @param textPath The path to the text tasks file, which the binary file is kept beside.
+     */
+    BinaryTaskStore(Path textPath) {
+        this.textPath = textPath;
+        this.tasksPath = binaryPathOf(textPath);
+    }
+
+    /**
+     * Returns the path of the binary file kept for the given task file: the same path with its {@code .txt}
+     * extension, if any, replaced by {@code .bin}, or the path itself if it already ends in {@code .bin}.
+     *
+     * @param path The path of the task file.
+     * @return The path of the binary file.
+     */
+    static Path binaryPathOf(Path path) {
+        String name = path.getFileName().toString();
+        if (name.endsWith(".bin")) {
+            return path;
+        }
+        String baseName = name.endsWith(".txt") ? name.substring(0, name.length() - ".txt".length()) : name;
+        return path.resolveSibling(baseName + ".bin");
+    }
+
+    @Override
+    public void load(List<Task> tasks) throws OmniException {
+        try {
+            if (BinaryTaskCodec.isBinaryFile(textPath)) {
+                tasksPath = textPath;
+            } else if (!Files.exists(tasksPath)) {
+                Files.createDirectories(tasksPath.toAbsolutePath().getParent());
+                if (Files.exists(textPath)) {
+                    new TextTaskStore(textPath).load(tasks);
+                }
+                BinaryTaskCodec.write(tasksPath, tasks);
+                return;
+            }
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+        BinaryTaskCodec.read(tasksPath, tasks);
+    }
+
+    @Override
+    public void append(Task task) throws IOException {
+        GrowableBuffer buffer = new GrowableBuffer(64);
+        BinaryTaskCodec.encode(task, buffer);
+        StorageMetrics.write(tasksPath, buffer.toByteArray(), StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void replace(Task task, int index) throws IOException {
+        ArrayList<Task> tasks = readForRewrite();
+        tasks.set(index, task);
+        BinaryTaskCodec.write(tasksPath, tasks);
+    }
+
+    @Override
+    public void remove(int index) throws IOException {
+        ArrayList<Task> tasks = readForRewrite();
+        tasks.remove(index);
+        BinaryTaskCodec.write(tasksPath, tasks);
+    }
+
+    @Override
+    public void removeAll(int[] indices) throws IOException {
+        ArrayList<Task> tasks = readForRewrite();
+        TaskStore.removeAllFrom(tasks, indices);
+        BinaryTaskCodec.write(tasksPath, tasks);
+    }
+
+    private ArrayList<Task> readForRewrite() throws IOException {
+        try {
+            ArrayList<Task> tasks = new ArrayList<>();
+            BinaryTaskCodec.read(tasksPath, tasks);
+            return tasks;
+        } catch (OmniException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void applyBatch(List<PendingWrite> batch) throws IOException {
+        if (batch.stream().allMatch(write -> write.getKind() == PendingWrite.Kind.APPEND)) {
+            GrowableBuffer buffer = new GrowableBuffer(64 * batch.size());
+            for (PendingWrite write : batch) {
+                BinaryTaskCodec.encode(write.getTask(), buffer);
+            }
+            StorageMetrics.write(tasksPath, buffer.toByteArray(), StandardOpenOption.APPEND);
+            return;
+        }
+        ArrayList<Task> tasks = readForRewrite();
+        for (PendingWrite write : batch) {
+            switch (write.getKind()) {
+            case APPEND -> tasks.add(write.getTask());
+            case REPLACE, REPLACE_STATUS -> tasks.set(write.getIndex(), write.getTask());
+            case REMOVE -> tasks.remove(write.getIndex());
+            case REMOVE_ALL -> TaskStore.removeAllFrom(tasks, write.getIndices());
+            default -> throw new AssertionError(write.getKind());
+            }
+        }
+        BinaryTaskCodec.write(tasksPath, tasks);
+    }
+
+    @Override
+    public void sync() throws IOException {
+        try (FileChannel channel = FileChannel.open(tasksPath, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+}
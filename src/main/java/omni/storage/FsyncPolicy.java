@@ -0,0 +1,29 @@
+package omni.storage;
+
+/**
+ * Decides when {@link Storage} forces batched writes out to the storage device.
+ *
+ * @author Brandon Tan
+ */
+public enum FsyncPolicy {
+    /** Leaves flushing to the operating system, which is fastest but may lose recent changes on a power loss. */
+    NEVER,
+    /** Forces the changes out to the device after every batch is written. */
+    BATCH;
+
+    /**
+     * Returns the policy with the given name, ignoring case.
+     * Falls back to {@link #NEVER} when the name is null or unknown.
+     *
+     * @param name The name of the policy, e.g. "batch".
+     * @return The matching policy.
+     */
+    public static FsyncPolicy fromName(String name) {
+        for (FsyncPolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(name)) {
+                return policy;
+            }
+        }
+        return NEVER;
+    }
+}
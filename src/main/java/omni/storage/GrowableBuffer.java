@@ -0,0 +1,71 @@
+package omni.storage;
+
+import java.util.Arrays;
+
+/**
+ * A byte array that grows as bytes are appended, used to assemble binary records before writing them out.
+ *
+ * @author Brandon Tan
+ */
+class GrowableBuffer {
+    private byte[] bytes;
+    private int size;
+
+    /**
+     * Constructs an empty buffer with the given initial capacity.
+     *
+     * @param capacity The initial capacity in bytes.
+     */
+    GrowableBuffer(int capacity) {
+        this.bytes = new byte[Math.max(capacity, 16)];
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(size + extra, bytes.length * 2));
+        }
+    }
+
+    void put(byte value) {
+        ensureCapacity(1);
+        bytes[size++] = value;
+    }
+
+    void put(byte[] values) {
+        ensureCapacity(values.length);
+        System.arraycopy(values, 0, bytes, size, values.length);
+        size += values.length;
+    }
+
+    void putInt(int value) {
+        ensureCapacity(4);
+        bytes[size++] = (byte) (value >>> 24);
+        bytes[size++] = (byte) (value >>> 16);
+        bytes[size++] = (byte) (value >>> 8);
+        bytes[size++] = (byte) value;
+    }
+
+    void putVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        put((byte) value);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+}
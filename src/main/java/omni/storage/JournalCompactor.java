@@ -0,0 +1,81 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import omni.exceptions.OmniException;
+
+/**
+ * Periodically folds the journal of a {@link JournalTaskStore} into a fresh snapshot on a background thread.
+ * Keeping the journal short bounds the time {@link Storage#loadTasks()} spends replaying it, no matter
+ * how many mutations a long-lived list has accumulated.
+ *
+ * @author Brandon Tan
+ */
+class JournalCompactor {
+    static final int DEFAULT_THRESHOLD = 1000;
+    static final long DEFAULT_INTERVAL_SECONDS = 30;
+
+    private final JournalTaskStore store;
+    private final int threshold;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Constructs a JournalCompactor for the given store.
+     *
+     * @param store The store whose journal is compacted.
+     * @param threshold The number of journal records that triggers a compaction.
+     */
+    JournalCompactor(JournalTaskStore store, int threshold) {
+        this.store = store;
+        this.threshold = threshold;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "omni-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts checking the journal at the given interval.
+     *
+     * @param intervalSeconds The number of seconds between checks.
+     */
+    void start(long intervalSeconds) {
+        executor.scheduleWithFixedDelay(this::compactIfNeeded, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Schedules a check right away, without waiting for the next interval.
+     */
+    void requestCompaction() {
+        if (!executor.isShutdown()) {
+            executor.execute(this::compactIfNeeded);
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (store.getJournalRecordCount() < threshold) {
+            return;
+        }
+        try {
+            store.compact();
+        } catch (IOException | OmniException e) {
+            System.err.println("Unable to compact task journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the background thread, waiting for a compaction in progress to finish.
+     */
+    void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import omni.exceptions.CorruptedFileException;
+import omni.exceptions.OmniException;
+import omni.tasks.Task;
+
+/**
+ * Stores tasks as a text snapshot plus an append-only journal of mutations.
+ * Every mutation appends one small record to the journal, so its cost does not depend on the size
+ * of the list. Loading reads the snapshot and then replays the journal on top of it.
+ *
+ * <p>Journal records are newline-terminated and take one of three forms:
+ * {@code + ENTRY} (append), {@code = INDEX ENTRY} (replace) and {@code - INDEX} (remove),
+ * where ENTRY is the same line that {@link Task#getEntryString()} writes to the snapshot.
+ *
+ * <p>A {@link JournalCompactor} periodically folds the journal into the snapshot. Compaction first renames
+ * the live journal to {@value #COMPACTING_SUFFIX}, so new records go to a fresh journal, then writes the folded
+ * snapshot to {@value #COMPACTED_SUFFIX}, deletes the renamed journal and finally moves the new snapshot into
+ * place. {@link #recover()} uses whichever of these files survive a crash to finish or discard the compaction.
+ *
+ * @author Brandon Tan
+ */
+class JournalTaskStore implements TaskStore {
+    static final String JOURNAL_SUFFIX = ".journal";
+    static final String COMPACTING_SUFFIX = ".journal.compacting";
+    static final String COMPACTED_SUFFIX = ".compacted";
+
+    private static final char APPEND_OP = '+';
+    private static final char REPLACE_OP = '=';
+    private static final char REMOVE_OP = '-';
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Path compactingPath;
+    private final Path compactedPath;
+    private final AtomicInteger journalRecordCount = new AtomicInteger();
+    private final Object compactionLock = new Object();
+    private JournalCompactor compactor;
+    private FileChannel journal;
+
+    /**
+     * Constructs a JournalTaskStore whose snapshot lives at the specified path.
+     * The journal is kept next to it with a {@value #JOURNAL_SUFFIX} suffix.
+     *
+     * @param snapshotPath The path to the snapshot file.
+     */
+    JournalTaskStore(Path snapshotPath) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = siblingOf(snapshotPath, JOURNAL_SUFFIX);
+        this.compactingPath = siblingOf(snapshotPath, COMPACTING_SUFFIX);
+        this.compactedPath = siblingOf(snapshotPath, COMPACTED_SUFFIX);
+    }
+
+    static Path siblingOf(Path path, String suffix) {
+        return path.resolveSibling(path.getFileName() + suffix);
+    }
+
+    /**
+     * Loads the snapshot, replays the journal and starts background compaction.
+     */
+    @Override
+    public void load(List<Task> tasks) throws OmniException {
+        recover();
+        new TextTaskStore(snapshotPath).load(tasks);
+        int replayed = replay(compactingPath, tasks) + replay(journalPath, tasks);
+        journalRecordCount.set(replayed);
+        startCompactor();
+    }
+
+    /**
+     * Indexes the snapshot without decoding it, replays the journal on top and starts background compaction.
+     * Tasks added or changed by the journal are kept in memory; the rest are decoded from the snapshot on demand.
+     */
+    @Override
+    public List<Task> loadLazily() throws OmniException {
+        recover();
+        if (!Files.exists(snapshotPath)) {
+            TextTaskStore.createTasksFile(snapshotPath);
+        }
+        LazyTaskList tasks = LazyTaskList.open(snapshotPath, LazyTaskList.DEFAULT_CACHE_SIZE);
+        int replayed = replay(compactingPath, tasks) + replay(journalPath, tasks);
+        journalRecordCount.set(replayed);
+        startCompactor();
+        return tasks;
+    }
+
+    /**
+     * Finishes or discards a compaction that was interrupted before the new snapshot was moved into place.
+     */
+    private void recover() throws CorruptedFileException {
+        try {
+            if (Files.exists(compactingPath)) {
+                // The folded snapshot may be incomplete while its journal still exists.
+                Files.deleteIfExists(compactedPath);
+            } else if (Files.exists(compactedPath)) {
+                Files.move(compactedPath, snapshotPath,
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+    }
+
+    private synchronized void startCompactor() {
+        if (compactor == null) {
+            compactor = new JournalCompactor(this, JournalCompactor.DEFAULT_THRESHOLD);
+            compactor.start(JournalCompactor.DEFAULT_INTERVAL_SECONDS);
+        }
+    }
+
+    /**
+     * Applies every complete record of the journal at the given path to the tasks.
+     * A trailing record without its newline is the remains of an interrupted write and is ignored.
+     *
+     * @param path The journal to replay.
+     * @param tasks The tasks loaded from the snapshot.
+     * @return The number of records applied.
+     * @throws OmniException If a record is malformed.
+     */
+    static int replay(Path path, List<Task> tasks) throws OmniException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        String records;
+        try {
+            StorageMetrics.BYTES_READ.add(Files.size(path));
+            records = Files.readString(path);
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+
+        TaskEntryParser parser = new TaskEntryParser();
+        int count = 0;
+        int start = 0;
+        int end = records.indexOf('\n');
+        while (end >= 0) {
+            applyRecord(records.substring(start, end), tasks, parser);
+            count++;
+            start = end + 1;
+            end = records.indexOf('\n', start);
+        }
+        return count;
+    }
+
+    private static void applyRecord(String record, List<Task> tasks, TaskEntryParser parser)
+            throws OmniException {
+        if (record.length() < 2 || record.charAt(1) != ' ') {
+            throw new CorruptedFileException("Journal record invalid.\n" + record);
+        }
+        String body = record.substring(2);
+        switch (record.charAt(0)) {
+        case APPEND_OP -> tasks.add(parser.parse(body));
+        case REPLACE_OP -> {
+            int separator = body.indexOf(' ');
+            if (separator < 0) {
+                throw new CorruptedFileException("Journal record invalid.\n" + record);
+            }
+            int index = parseIndex(body.substring(0, separator), tasks, record);
+            tasks.set(index, parser.parse(body.substring(separator + 1)));
+        }
+        case REMOVE_OP -> tasks.remove(parseIndex(body, tasks, record));
+        default -> throw new CorruptedFileException("Journal record invalid.\n" + record);
+        }
+    }
+
+    private static int parseIndex(String value, List<Task> tasks, String record) throws CorruptedFileException {
+        try {
+            int index = Integer.parseInt(value);
+            if (index >= 0 && index < tasks.size()) {
+                return index;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to report the record as corrupted.
+        }
+        throw new CorruptedFileException("Journal record index invalid.\n" + record);
+    }
+
+    @Override
+    public void append(Task task) throws IOException {
+        writeRecords(APPEND_OP + " " + task.getEntryString() + "\n", 1);
+    }
+
+    @Override
+    public void replace(Task task, int index) throws IOException {
+        writeRecords(REPLACE_OP + " " + index + " " + task.getEntryString() + "\n", 1);
+    }
+
+    @Override
+    public void remove(int index) throws IOException {
+        writeRecords(REMOVE_OP + " " + index + "\n", 1);
+    }
+
+    /**
+     * Appends the removal records, last index first, in a single write.
+     */
+    @Override
+    public void removeAll(int[] indices) throws IOException {
+        StringBuilder records = new StringBuilder();
+        appendRemoveRecords(records, indices);
+        writeRecords(records.toString(), indices.length);
+    }
+
+    private static void appendRemoveRecords(StringBuilder records, int[] indices) {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            records.append(REMOVE_OP).append(' ').append(indices[i]).append('\n');
+        }
+    }
+
+    /**
+     * Appends the records of the whole batch to the journal in a single write.
+     */
+    @Override
+    public void applyBatch(List<PendingWrite> batch) throws IOException {
+        StringBuilder records = new StringBuilder();
+        int count = 0;
+        for (PendingWrite write : batch) {
+            if (write.getKind() == PendingWrite.Kind.REMOVE_ALL) {
+                appendRemoveRecords(records, write.getIndices());
+                count += write.getIndices().length;
+                continue;
+            }
+            switch (write.getKind()) {
+            case APPEND -> records.append(APPEND_OP).append(' ').append(write.getTask().getEntryString());
+            case REPLACE, REPLACE_STATUS -> records.append(REPLACE_OP).append(' ').append(write.getIndex())
+                    .append(' ').append(write.getTask().getEntryString());
+            case REMOVE -> records.append(REMOVE_OP).append(' ').append(write.getIndex());
+            default -> throw new AssertionError(write.getKind());
+            }
+            records.append('\n');
+            count++;
+        }
+        writeRecords(records.toString(), count);
+    }
+
+    private synchronized void writeRecords(String records, int count) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8));
+        FileChannel channel = getJournal();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        StorageMetrics.BYTES_WRITTEN.add(bytes.limit());
+        int total = journalRecordCount.addAndGet(count);
+        boolean hasReachedThreshold = total >= JournalCompactor.DEFAULT_THRESHOLD
+                && total - count < JournalCompactor.DEFAULT_THRESHOLD;
+        if (hasReachedThreshold && compactor != null) {
+            compactor.requestCompaction();
+        }
+    }
+
+    @Override
+    public synchronized void sync() throws IOException {
+        if (journal != null) {
+            journal.force(false);
+        }
+    }
+
+    private FileChannel getJournal() throws IOException {
+        if (journal == null) {
+            journal = FileChannel.open(journalPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return journal;
+    }
+
+    /**
+     * Returns the number of records written to the journal since the last compaction.
+     *
+     * @return The number of journal records.
+     */
+    int getJournalRecordCount() {
+        return journalRecordCount.get();
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot.
+     * Only the rename of the live journal holds the writer lock; reading, folding and writing the new snapshot
+     * happen without blocking callers that keep appending records.
+     *
+     * @throws IOException If the new snapshot cannot be written.
+     * @throws OmniException If the snapshot or journal is corrupted.
+     */
+    void compact() throws IOException, OmniException {
+        synchronized (compactionLock) {
+            rotateJournal();
+            ArrayList<Task> tasks = new ArrayList<>();
+            new TextTaskStore(snapshotPath).load(tasks);
+            replay(compactingPath, tasks);
+            writeSnapshot(compactedPath, tasks);
+            Files.delete(compactingPath);
+            Files.move(compactedPath, snapshotPath,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private synchronized void rotateJournal() throws IOException {
+        if (Files.exists(compactingPath)) {
+            // A previous compaction was interrupted; fold its journal before starting a new one.
+            return;
+        }
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+        if (Files.exists(journalPath)) {
+            Files.move(journalPath, compactingPath, StandardCopyOption.ATOMIC_MOVE);
+        } else {
+            Files.createFile(compactingPath);
+        }
+        journalRecordCount.set(0);
+    }
+
+    private static void writeSnapshot(Path path, ArrayList<Task> tasks) throws IOException {
+        StringBuilder entries = new StringBuilder();
+        for (Task task : tasks) {
+            entries.append(task.getEntryString()).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(entries.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+            StorageMetrics.BYTES_WRITTEN.add(bytes.limit());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        JournalCompactor stoppedCompactor;
+        synchronized (this) {
+            stoppedCompactor = compactor;
+            compactor = null;
+        }
+        if (stoppedCompactor != null) {
+            stoppedCompactor.shutdown();
+        }
+        synchronized (this) {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import omni.exceptions.CorruptedFileException;
+import omni.exceptions.OmniException;
+import omni.tasks.Deadline;
+import omni.tasks.Event;
+import omni.tasks.Task;
+
+/**
+ * A list of tasks backed by a text task file that is only indexed, not parsed, when it is opened.
+ *
+ * <p>Opening the list records the byte offset, length and type tag of every line. A task is decoded from its
+ * line the first time {@link #get(int)} touches it and kept in a bounded least-recently-used cache, so resident
+ * memory does not grow with the full object graph of the file. Tasks that are added or set through the list are
+ * pinned in memory, as they no longer match the file; callers that change a task in place must {@link #set} it
+ * back for the change to survive eviction from the cache.
+ *
+ * <p>The file must not be rewritten in place while the list is open. The journal snapshot satisfies this, since
+ * compaction replaces it with an atomic move and the list keeps reading the file it opened.
+ *
+ * @author Brandon Tan
+ */
+class LazyTaskList extends AbstractList<Task> implements AutoCloseable {
+    static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private static final long NOT_IN_FILE = -1;
+    private static final int SCAN_BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final TaskEntryParser parser = new TaskEntryParser();
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    private final Map<Long, Task> cache;
+    private long[] offsets = new long[16];
+    private int[] lengths = new int[16];
+    private byte[] types = new byte[16];
+    private Task[] pinned = new Task[16];
+    private int size;
+    private ByteBuffer lineBytes = ByteBuffer.allocate(256);
+    private CharBuffer lineChars = CharBuffer.allocate(256);
+
+    private LazyTaskList(FileChannel channel, int cacheSize) {
+        this.channel = channel;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Task> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Opens and indexes the text task file at the given path.
+     *
+     * @param path The text task file.
+     * @param cacheSize The maximum number of decoded tasks kept in memory, not counting pinned tasks.
+     * @return The indexed list.
+     * @throws OmniException If the file cannot be read or a line has an unknown type tag.
+     */
+    static LazyTaskList open(Path path, int cacheSize) throws OmniException {
+        try {
+            LazyTaskList tasks = new LazyTaskList(FileChannel.open(path, StandardOpenOption.READ), cacheSize);
+            tasks.index();
+            return tasks;
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+    }
+
+    private void index() throws IOException, CorruptedFileException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long position = 0;
+        long lineStart = 0;
+        byte type = 0;
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    indexLine(lineStart, position + i, type);
+                    lineStart = position + i + 1;
+                    type = 0;
+                } else if (type == 0 && b > ' ') {
+                    type = b;
+                }
+            }
+            position += read;
+            buffer.clear();
+        }
+        if (lineStart < position) {
+            indexLine(lineStart, position, type);
+        }
+        StorageMetrics.BYTES_READ.add(position);
+    }
+
+    private void indexLine(long start, long end, byte type) throws IOException, CorruptedFileException {
+        int length = Math.toIntExact(end - start);
+        if (type != 'T' && type != 'D' && type != 'E') {
+            throw new CorruptedFileException("Task type not found.\n" + decodeLine(start, length));
+        }
+        ensureCapacity(size + 1);
+        offsets[size] = start;
+        lengths[size] = length;
+        types[size] = type;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > offsets.length) {
+            int newCapacity = Math.max(capacity, offsets.length * 2);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+            types = Arrays.copyOf(types, newCapacity);
+            pinned = Arrays.copyOf(pinned, newCapacity);
+        }
+    }
+
+    /**
+     * Returns the type tag ('T', 'D' or 'E') of the task at the given index without decoding it.
+     *
+     * @param index The index of the task.
+     * @return The type tag of the task.
+     */
+    byte getType(int index) {
+        checkIndex(index);
+        return types[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    /**
+     * Returns the task at the given index, decoding it from the file if it is neither pinned nor cached.
+     *
+     * @throws UncheckedIOException If the file cannot be read or the entry is malformed.
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        if (pinned[index] != null) {
+            return pinned[index];
+        }
+        Task task = cache.get(offsets[index]);
+        if (task == null) {
+            task = decode(offsets[index], lengths[index]);
+            cache.put(offsets[index], task);
+        }
+        return task;
+    }
+
+    private Task decode(long offset, int length) {
+        try {
+            CharBuffer line = decodeLine(offset, length);
+            int lineLength = line.limit();
+            if (lineLength > 0 && line.get(lineLength - 1) == '\r') {
+                lineLength--;
+            }
+            return parser.parse(line.array(), lineLength);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (OmniException e) {
+            throw new UncheckedIOException(new IOException(e.getMessage(), e));
+        }
+    }
+
+    private CharBuffer decodeLine(long offset, int length) throws IOException {
+        if (lineBytes.capacity() < length) {
+            lineBytes = ByteBuffer.allocate(Math.max(length, lineBytes.capacity() * 2));
+            lineChars = CharBuffer.allocate(lineBytes.capacity());
+        }
+        lineBytes.clear().limit(length);
+        while (lineBytes.hasRemaining() && channel.read(lineBytes, offset + lineBytes.position()) >= 0) {
+            // Keep reading until the whole line is buffered.
+        }
+        StorageMetrics.BYTES_READ.add(length);
+        lineChars.clear();
+        decoder.reset();
+        CoderResult result = decoder.decode(lineBytes.flip(), lineChars, true);
+        if (result.isError()) {
+            result.throwException();
+        }
+        return lineChars.flip();
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "task cannot be null";
+        Task previous = get(index);
+        pinned[index] = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "task cannot be null";
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        ensureCapacity(size + 1);
+        shift(index, index + 1, size - index);
+        offsets[index] = NOT_IN_FILE;
+        lengths[index] = 0;
+        types[index] = typeOf(task);
+        pinned[index] = task;
+        size++;
+        modCount++;
+    }
+
+    private static byte typeOf(Task task) {
+        if (task instanceof Deadline) {
+            return 'D';
+        }
+        return task instanceof Event ? (byte) 'E' : (byte) 'T';
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        cache.remove(offsets[index]);
+        shift(index + 1, index, size - index - 1);
+        size--;
+        pinned[size] = null;
+        modCount++;
+        return removed;
+    }
+
+    private void shift(int from, int to, int count) {
+        System.arraycopy(offsets, from, offsets, to, count);
+        System.arraycopy(lengths, from, lengths, to, count);
+        System.arraycopy(types, from, types, to, count);
+        System.arraycopy(pinned, from, pinned, to, count);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Closes the underlying file. Tasks that are neither pinned nor cached can no longer be decoded.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
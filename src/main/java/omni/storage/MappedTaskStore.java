@@ -0,0 +1,316 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import omni.exceptions.CorruptedFileException;
+import omni.exceptions.OmniException;
+import omni.tasks.Task;
+
+/**
+ * Stores tasks in fixed-size slots of a memory-mapped file, so that a task can be rewritten in place.
+ *
+ * <p>The file starts with a {@value #FILE_HEADER_LENGTH}-byte header holding the magic bytes {@code OMNM},
+ * a version byte, the slot size and the number of tasks. Slot {@code i} starts at
+ * {@code FILE_HEADER_LENGTH + i * SLOT_SIZE} and holds a two-byte record length followed by the task encoded as a
+ * {@link BinaryTaskCodec} record. Since the record's first byte carries the done flag, marking or unmarking a task
+ * is a single byte write into the mapped buffer, and rewriting a task only touches its own slot.
+ *
+ * <p>Tasks whose encoded record does not fit in a slot are rejected. Removing a task shifts the later slots down
+ * within the mapped buffer. The mapping is grown by doubling when the file runs out of slots.
+ *
+ * <p>A text or binary task file is converted by writing the mapped file next to it and moving it over the original
+ * in one step. If any task does not fit in a slot, the conversion is refused and the original is left unchanged.
+ *
+ * @author Brandon Tan
+ */
+class MappedTaskStore implements TaskStore {
+    static final int SLOT_SIZE = 256;
+    static final int FILE_HEADER_LENGTH = 16;
+
+    private static final byte[] MAGIC = {'O', 'M', 'N', 'M'};
+    private static final byte VERSION = 1;
+    private static final int SLOT_SIZE_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int RECORD_LENGTH_BYTES = 2;
+    private static final int MAX_RECORD_LENGTH = SLOT_SIZE - RECORD_LENGTH_BYTES;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int DONE_FLAG = 0x80;
+
+    private final Path tasksPath;
+    private final GrowableBuffer recordBuffer = new GrowableBuffer(SLOT_SIZE);
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int capacity;
+    private int count;
+
+    /**
+     * Constructs a MappedTaskStore backed by the specified file.
+     *
+     * @param tasksPath The path to the mapped tasks file.
+     */
+    MappedTaskStore(Path tasksPath) {
+        this.tasksPath = tasksPath;
+    }
+
+    /**
+     * Maps the file and decodes every slot. A text or binary task file found at the path is converted first.
+     */
+    @Override
+    public void load(List<Task> tasks) throws OmniException {
+        try {
+            ArrayList<Task> existing = readUnmappedFile();
+            if (existing != null) {
+                convert(existing);
+            }
+            open();
+            decodeSlots(tasks);
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the tasks of a file at the path that is not yet in the mapped format,
+     * an empty list if there is no file, or null if the file is already mapped.
+     */
+    private ArrayList<Task> readUnmappedFile() throws IOException, OmniException {
+        if (!Files.exists(tasksPath) || Files.size(tasksPath) == 0) {
+            return new ArrayList<>();
+        }
+        if (isMappedFile(tasksPath)) {
+            return null;
+        }
+        ArrayList<Task> tasks = new ArrayList<>();
+        if (BinaryTaskCodec.isBinaryFile(tasksPath)) {
+            BinaryTaskCodec.read(tasksPath, tasks);
+        } else {
+            new TextTaskStore(tasksPath).load(tasks);
+        }
+        return tasks;
+    }
+
+    private static boolean isMappedFile(Path path) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(MAGIC.length);
+            in.read(header, 0);
+            return header.position() == MAGIC.length && header.flip().equals(ByteBuffer.wrap(MAGIC));
+        }
+    }
+
+    /**
+     * Writes the tasks as a mapped file beside the task file and moves it over the task file once it is complete.
+     * The task file is left unchanged if any task is too long for a slot or the mapped file cannot be written.
+     */
+    private void convert(List<Task> tasks) throws IOException {
+        Path parent = tasksPath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path partial = StorageMetrics.partialPathOf(tasksPath);
+        try (FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer image = ByteBuffer.allocate(FILE_HEADER_LENGTH + INITIAL_CAPACITY * SLOT_SIZE);
+            image.put(MAGIC).put(VERSION).putInt(SLOT_SIZE_OFFSET, SLOT_SIZE).putInt(COUNT_OFFSET, tasks.size());
+            image.position(FILE_HEADER_LENGTH);
+            for (int i = 0; i < tasks.size(); i++) {
+                if (image.remaining() < SLOT_SIZE) {
+                    writeFully(out, image.flip());
+                    Arrays.fill(image.clear().array(), (byte) 0);
+                }
+                encodeRecord(tasks.get(i), i);
+                image.putShort((short) recordBuffer.size()).put(recordBuffer.array(), 0, recordBuffer.size());
+                image.position(image.position() + MAX_RECORD_LENGTH - recordBuffer.size());
+            }
+            writeFully(out, image.flip());
+            out.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        StorageMetrics.moveIntoPlace(partial, tasksPath);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer bytes) throws IOException {
+        StorageMetrics.BYTES_WRITTEN.add(bytes.remaining());
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+    }
+
+    private void open() throws IOException, CorruptedFileException {
+        close();
+        channel = FileChannel.open(tasksPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long slotBytes = channel.size() - FILE_HEADER_LENGTH;
+        map((int) Math.max(slotBytes / SLOT_SIZE, INITIAL_CAPACITY));
+        if (mapped.get(MAGIC.length) != VERSION || mapped.getInt(SLOT_SIZE_OFFSET) != SLOT_SIZE) {
+            throw new CorruptedFileException("Mapped task file version or slot size not supported.");
+        }
+        count = mapped.getInt(COUNT_OFFSET);
+        if (count < 0 || count > capacity) {
+            throw new CorruptedFileException("Mapped task file count invalid.");
+        }
+    }
+
+    private void map(int newCapacity) throws IOException {
+        long size = FILE_HEADER_LENGTH + (long) newCapacity * SLOT_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Mapped task file cannot hold more than " + capacity + " tasks.");
+        }
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        capacity = newCapacity;
+    }
+
+    private void decodeSlots(List<Task> tasks) throws OmniException {
+        BinaryTaskCodec.Decoder decoder = new BinaryTaskCodec.Decoder();
+        for (int i = 0; i < count; i++) {
+            int offset = slotOffset(i);
+            int length = Short.toUnsignedInt(mapped.getShort(offset));
+            if (length == 0 || length > MAX_RECORD_LENGTH) {
+                throw new CorruptedFileException("Mapped task slot " + i + " invalid.");
+            }
+            ByteBuffer record = mapped.slice(offset + RECORD_LENGTH_BYTES, length);
+            tasks.add(decoder.decode(record));
+            StorageMetrics.BYTES_READ.add(RECORD_LENGTH_BYTES + length);
+        }
+    }
+
+    private static int slotOffset(int index) {
+        return FILE_HEADER_LENGTH + index * SLOT_SIZE;
+    }
+
+    /**
+     * Encodes the task into the record buffer, checking that the record fits in a slot.
+     */
+    private void encodeRecord(Task task, int index) throws IOException {
+        recordBuffer.clear();
+        BinaryTaskCodec.encode(task, recordBuffer);
+        if (recordBuffer.size() > MAX_RECORD_LENGTH) {
+            throw new IOException("Task " + (index + 1) + " is too long to be stored, keep it under "
+                    + MAX_RECORD_LENGTH + " bytes.");
+        }
+    }
+
+    /**
+     * Checks that the task fits in a slot. The task is encoded into a buffer of its own, as queued writes may be
+     * encoding into the shared record buffer at the same time.
+     *
+     * @param task The task about to be written.
+     * @throws IOException If the task is too long to fit in a slot.
+     */
+    @Override
+    public void checkFits(Task task) throws IOException {
+        GrowableBuffer record = new GrowableBuffer(SLOT_SIZE);
+        BinaryTaskCodec.encode(task, record);
+        if (record.size() > MAX_RECORD_LENGTH) {
+            throw new IOException("This task is too long to be stored, keep it under " + MAX_RECORD_LENGTH
+                    + " bytes.");
+        }
+    }
+
+    private void writeSlot(int index, Task task) throws IOException {
+        checkOpen();
+        encodeRecord(task, index);
+        int offset = slotOffset(index);
+        mapped.putShort(offset, (short) recordBuffer.size());
+        mapped.put(offset + RECORD_LENGTH_BYTES, recordBuffer.array(), 0, recordBuffer.size());
+        StorageMetrics.BYTES_WRITTEN.add(RECORD_LENGTH_BYTES + recordBuffer.size());
+    }
+
+    private void checkOpen() throws IOException {
+        if (mapped == null) {
+            throw new IOException("Mapped task file was not loaded, so changes to it cannot be saved.");
+        }
+    }
+
+    @Override
+    public void append(Task task) throws IOException {
+        checkOpen();
+        if (count == capacity) {
+            map(capacity * 2);
+        }
+        writeSlot(count, task);
+        count++;
+        mapped.putInt(COUNT_OFFSET, count);
+    }
+
+    @Override
+    public void replace(Task task, int index) throws IOException {
+        assert index < count : "index must be within the file";
+        writeSlot(index, task);
+    }
+
+    /**
+     * Flips the done flag in the first byte of the task's record, leaving the rest of the slot untouched.
+     */
+    @Override
+    public void replaceStatus(Task task, int index) throws IOException {
+        checkOpen();
+        assert index < count : "index must be within the file";
+        int tagOffset = slotOffset(index) + RECORD_LENGTH_BYTES;
+        int tag = mapped.get(tagOffset) & ~DONE_FLAG;
+        mapped.put(tagOffset, (byte) (task.isDone() ? tag | DONE_FLAG : tag));
+        StorageMetrics.BYTES_WRITTEN.increment();
+    }
+
+    @Override
+    public void remove(int index) throws IOException {
+        checkOpen();
+        assert index < count : "index must be within the file";
+        int from = slotOffset(index + 1);
+        int to = slotOffset(count);
+        mapped.put(slotOffset(index), mapped, from, to - from);
+        StorageMetrics.BYTES_WRITTEN.add(to - from);
+        count--;
+        mapped.putInt(COUNT_OFFSET, count);
+    }
+
+    /**
+     * Closes the gaps left by the removed tasks with one slot move per run of remaining tasks.
+     */
+    @Override
+    public void removeAll(int[] indices) throws IOException {
+        if (indices.length == 0) {
+            return;
+        }
+        checkOpen();
+        assert indices[indices.length - 1] < count : "indices must be within the file";
+        int write = indices[0];
+        for (int i = 0; i < indices.length; i++) {
+            int runStart = indices[i] + 1;
+            int runEnd = i + 1 < indices.length ? indices[i + 1] : count;
+            int from = slotOffset(runStart);
+            int length = slotOffset(runEnd) - from;
+            mapped.put(slotOffset(write), mapped, from, length);
+            StorageMetrics.BYTES_WRITTEN.add(length);
+            write += runEnd - runStart;
+        }
+        count = write;
+        mapped.putInt(COUNT_OFFSET, count);
+    }
+
+    @Override
+    public void sync() {
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (mapped != null) {
+            mapped.force();
+            mapped = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
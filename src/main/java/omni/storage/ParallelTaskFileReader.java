@@ -0,0 +1,181 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import omni.exceptions.CorruptedFileException;
+import omni.exceptions.OmniException;
+import omni.tasks.Task;
+
+/**
+ * Loads a large text task file by parsing newline-aligned ranges of it in parallel.
+ *
+ * <p>The file is split into byte ranges of about {@value #RANGE_BYTES} bytes that each end just after a newline, so
+ * every range holds whole lines and whole UTF-8 characters. Each range is streamed through a {@link TaskFileReader}
+ * on the given fork-join pool, and the results are appended to the destination list in file order. Only
+ * {@value #RANGES_IN_FLIGHT_PER_THREAD} ranges per thread are parsed ahead of the one being appended, so apart from
+ * the tasks themselves, memory stays bounded however large the file is. If several ranges contain malformed
+ * entries, the error from the earliest one is reported, so the message quotes the same line a sequential load
+ * would.
+ *
+ * @author Brandon Tan
+ */
+class ParallelTaskFileReader {
+    /** Files smaller than this are loaded sequentially, as splitting them costs more than it saves. */
+    static final long PARALLEL_THRESHOLD_BYTES = 4L * 1024 * 1024;
+
+    private static final long RANGE_BYTES = 1024 * 1024;
+    private static final int RANGES_IN_FLIGHT_PER_THREAD = 2;
+    private static final int BOUNDARY_SCAN_BYTES = 4096;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a reader that parses ranges on the given pool.
+     *
+     * @param pool The pool to parse ranges on.
+     */
+    ParallelTaskFileReader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns true if the file is large enough, and enough cores are available, for a parallel load to pay off.
+     *
+     * @param fileSize The size of the file in bytes.
+     * @return True if the file should be loaded in parallel.
+     */
+    static boolean isWorthwhile(long fileSize) {
+        return fileSize >= PARALLEL_THRESHOLD_BYTES && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Reads every task in the file at the given path, appending them to the list in file order.
+     *
+     * @param path The text task file.
+     * @param tasks The list the tasks are appended to.
+     * @throws OmniException If the file cannot be read or contains a malformed entry.
+     */
+    void read(Path path, List<Task> tasks) throws OmniException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] boundaries = findBoundaries(channel);
+            int maxInFlight = pool.getParallelism() * RANGES_IN_FLIGHT_PER_THREAD;
+            ArrayDeque<ForkJoinTask<Range>> inFlight = new ArrayDeque<>();
+            int next = 0;
+            while (next + 1 < boundaries.length || !inFlight.isEmpty()) {
+                while (next + 1 < boundaries.length && inFlight.size() < maxInFlight) {
+                    long start = boundaries[next];
+                    long end = boundaries[next + 1];
+                    inFlight.add(pool.submit(() -> parseRange(channel, start, end)));
+                    next++;
+                }
+                inFlight.remove().join().appendTo(tasks);
+            }
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+    }
+
+    private long[] findBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int rangeCount = (int) Math.max(1, size / RANGE_BYTES);
+        long[] boundaries = new long[rangeCount + 1];
+        int count = 1;
+        for (int i = 1; i < rangeCount; i++) {
+            long boundary = nextLineStart(channel, size * i / rangeCount);
+            if (boundary > boundaries[count - 1] && boundary < size) {
+                boundaries[count++] = boundary;
+            }
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /** Returns the position just after the first newline at or after the given position. */
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_BYTES);
+        long offset = position;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+    }
+
+    private static Range parseRange(FileChannel channel, long start, long end) {
+        Range range = new Range();
+        try {
+            new TaskFileReader().read(new RangeInputStream(channel, start, end), range.tasks);
+        } catch (OmniException e) {
+            range.error = e;
+        }
+        return range;
+    }
+
+    /**
+     * Holds the tasks parsed from one range, or the first error found in it.
+     */
+    private static class Range {
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private OmniException error;
+
+        private void appendTo(List<Task> destination) throws OmniException {
+            if (error != null) {
+                throw error;
+            }
+            destination.addAll(tasks);
+        }
+    }
+
+    /**
+     * Reads the bytes of one range of a file with positional reads, so that ranges of the same channel can be read
+     * on several threads at once.
+     */
+    private static class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        private RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, end - position)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+}
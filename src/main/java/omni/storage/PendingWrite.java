@@ -0,0 +1,102 @@
+package omni.storage;
+
+import java.io.IOException;
+
+import omni.tasks.Task;
+
+/**
+ * Represents a mutation that has been accepted by {@link Storage} but not yet applied to its {@link TaskStore}.
+ * The task is copied when the mutation is recorded, so later changes to the task in the list do not leak into
+ * a write that is still pending.
+ *
+ * @author Brandon Tan
+ */
+final class PendingWrite {
+    /**
+     * The kinds of mutation a store persists.
+     */
+    enum Kind {
+        APPEND, REPLACE, REPLACE_STATUS, REMOVE, REMOVE_ALL
+    }
+
+    private final Kind kind;
+    private final Task task;
+    private final int index;
+    private final int[] indices;
+
+    private PendingWrite(Kind kind, Task task, int index, int[] indices) {
+        this.kind = kind;
+        this.task = task;
+        this.index = index;
+        this.indices = indices;
+    }
+
+    static PendingWrite append(Task task) {
+        return new PendingWrite(Kind.APPEND, task.copy(), -1, null);
+    }
+
+    static PendingWrite replace(Task task, int index) {
+        return new PendingWrite(Kind.REPLACE, task.copy(), index, null);
+    }
+
+    static PendingWrite replaceStatus(Task task, int index) {
+        return new PendingWrite(Kind.REPLACE_STATUS, task.copy(), index, null);
+    }
+
+    static PendingWrite remove(int index) {
+        return new PendingWrite(Kind.REMOVE, null, index, null);
+    }
+
+    static PendingWrite removeAll(int[] indices) {
+        return new PendingWrite(Kind.REMOVE_ALL, null, -1, indices.clone());
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the task written by the mutation, or null for a removal.
+     *
+     * @return The task.
+     */
+    Task getTask() {
+        return task;
+    }
+
+    /**
+     * Returns the index of the task the mutation applies to, or -1 for an append or a bulk removal.
+     *
+     * @return The index.
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the indices of the tasks removed by a bulk removal, in increasing order, or null for any other
+     * mutation.
+     *
+     * @return The indices.
+     */
+    int[] getIndices() {
+        return indices;
+    }
+
+    /**
+     * Applies this mutation on its own to the given store.
+     *
+     * @param store The store to apply the mutation to.
+     * @throws IOException If an I/O error occurs.
+     */
+    void applyTo(TaskStore store) throws IOException {
+        switch (kind) {
+        case APPEND -> store.append(task);
+        case REPLACE -> store.replace(task, index);
+        case REPLACE_STATUS -> store.replaceStatus(task, index);
+        case REMOVE -> store.remove(index);
+        case REMOVE_ALL -> store.removeAll(indices);
+        default -> throw new AssertionError(kind);
+        }
+    }
+}
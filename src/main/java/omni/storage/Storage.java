@@ -1,124 +1,124 @@
 package omni.storage;
 
-import static java.lang.Integer.parseInt;
-
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
-import omni.exceptions.CorruptedFileException;
 import omni.exceptions.OmniException;
-import omni.tasks.Deadline;
-import omni.tasks.Event;
 import omni.tasks.Task;
-import omni.tasks.Todo;
 
 /**
  * Handles reading from and writing to the task storage file.
  * Provides methods to load, update, add, and remove tasks from persistent storage.
+ * The on-disk layout is chosen by the {@link StorageMode} the storage is constructed with.
+ *
+ * <p>By default every mutation is written before its method returns. A storage constructed with a positive write
+ * delay instead queues mutations and writes them in batches in the background, at most that many milliseconds
+ * later; {@link #flush()} writes whatever is still queued, and is also run when the JVM shuts down.
+ *
+ * <p>The latency of every operation and the bytes read and written by the store are recorded in
+ * {@link omni.metrics.Metrics} under the {@code storage} prefix.
  *
  * @author Brandon Tan
  */
 public class Storage {
-    private Path tasksPath;
+    private final TaskStore store;
+    private final FsyncPolicy fsyncPolicy;
+    private final WriteBehindQueue writeBehind;
 
     /**
-     * Constructs a Storage object with the specified file path.
+     * Constructs a Storage object with the specified file path, using the plain text layout.
      *
      * @param filePath The path to the tasks file.
      */
     public Storage(Path filePath) {
-        this.tasksPath = filePath;
+        this(filePath, StorageMode.TEXT);
     }
 
     /**
-     * Loads tasks from the file and returns them as an ArrayList.
+     * Constructs a Storage object with the specified file path and storage mode.
      *
-     * @return An ArrayList of tasks loaded from the file.
-     * @throws OmniException If the file is corrupted or cannot be read, or when date format is invalid.
+     * @param filePath The path to the tasks file.
+     * @param mode The on-disk layout to use.
      */
-    public ArrayList<Task> loadTasks() throws OmniException {
-        ArrayList<Task> tasks = new ArrayList<>();
-
-        if (!Files.exists(tasksPath)) {
-            createTasksFile();
-            return tasks;
-        }
-
-        List<String> lines = getAllLines();
-        for (String line : lines) {
-            String[] values = getValues(line);
-            String type = values[0].trim();
-            String description = values[1].trim();
-            boolean isDone = parseInt(values[2].trim()) != 0;
-            Task taskToAdd = getTaskToAdd(line, type, values, description, isDone);
-            tasks.add(taskToAdd);
-        }
-        return tasks;
+    public Storage(Path filePath, StorageMode mode) {
+        this(filePath, mode, 0, FsyncPolicy.NEVER);
     }
 
-    private static Task getTaskToAdd(String line, String type, String[] values, String description, boolean isDone)
-            throws OmniException {
-        return switch (type) {
-        case "T" -> createTodo(line, values, description, isDone);
-        case "D" -> createDeadline(line, values, description, isDone);
-        case "E" -> createEvent(line, values, description, isDone);
-        default -> throw new CorruptedFileException("Task type not found.\n" + line);
+    /**
+     * Constructs a Storage object with the specified file path and storage mode that batches its writes.
+     *
+     * @param filePath The path to the tasks file.
+     * @param mode The on-disk layout to use.
+     * @param maxWriteDelayMillis The longest a mutation may wait before it is written, or 0 to write every
+     *     mutation immediately.
+     * @param fsyncPolicy Whether written changes are forced out to the storage device.
+     */
+    public Storage(Path filePath, StorageMode mode, long maxWriteDelayMillis, FsyncPolicy fsyncPolicy) {
+        assert filePath != null : "filePath cannot be null";
+        assert mode != null : "mode cannot be null";
+        assert maxWriteDelayMillis >= 0 : "maxWriteDelayMillis must be non-negative";
+        this.store = switch (mode) {
+        case TEXT -> new TextTaskStore(filePath);
+        case JOURNAL -> new JournalTaskStore(filePath);
+        case BINARY -> new BinaryTaskStore(filePath);
+        case MAPPED -> new MappedTaskStore(filePath);
         };
-    }
-
-    private static Event createEvent(String line, String[] values, String description, boolean isDone)
-            throws OmniException {
-        if (values.length != 5) {
-            throw new CorruptedFileException("Entry length for event invalid.\n" + line);
+        this.fsyncPolicy = fsyncPolicy;
+        if (maxWriteDelayMillis > 0) {
+            this.writeBehind = new WriteBehindQueue(store, maxWriteDelayMillis, fsyncPolicy);
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flushOnShutdown, "omni-storage-shutdown"));
+        } else {
+            this.writeBehind = null;
         }
-        return new Event(description, isDone, values[3].trim(), values[4].trim());
     }
 
-    private static Deadline createDeadline(String line, String[] values, String description, boolean isDone)
-            throws OmniException {
-        if (values.length != 4) {
-            throw new CorruptedFileException("Entry length for deadline invalid.\n" + line);
-        }
-        return new Deadline(description, isDone, values[3].trim());
-    }
-
-    private static Todo createTodo(String line, String[] values, String description, boolean isDone)
-            throws OmniException {
-        if (values.length != 3) {
-            throw new CorruptedFileException("Entry length for todo invalid.\n" + line);
-        }
-        return new Todo(description, isDone);
-    }
-
-    private static String[] getValues(String line) throws CorruptedFileException {
-        String[] values = line.split("\\|");
-        if (values.length < 3 || values.length > 5) {
-            throw new CorruptedFileException("Entry length invalid.\n" + line);
+    /**
+     * Loads tasks from the file and returns them as an ArrayList.
+     *
+     * @return An ArrayList of tasks loaded from the file.
+     * @throws OmniException If the file is corrupted or cannot be read, or when date format is invalid.
+     */
+    public ArrayList<Task> loadTasks() throws OmniException {
+        long start = System.nanoTime();
+        try {
+            ArrayList<Task> tasks = new ArrayList<>();
+            store.load(tasks);
+            return tasks;
+        } finally {
+            StorageMetrics.LOAD.recordSince(start);
         }
-        return values;
     }
 
-    private List<String> getAllLines() throws CorruptedFileException {
-        List<String> lines;
+    /**
+     * Loads tasks from the file straight into the given list, without building an intermediate list.
+     *
+     * @param tasks The list the loaded tasks are appended to, in file order.
+     * @throws OmniException If the file is corrupted or cannot be read, or when date format is invalid.
+     */
+    public void loadTasks(List<Task> tasks) throws OmniException {
+        long start = System.nanoTime();
         try {
-            lines = Files.readAllLines(tasksPath);
-        } catch (IOException e) {
-            throw new CorruptedFileException(e.getMessage());
+            store.load(tasks);
+        } finally {
+            StorageMetrics.LOAD.recordSince(start);
         }
-        return lines;
     }
 
-    /** Create file based on the specified tasksPath */
-    private void createTasksFile() throws CorruptedFileException {
+    /**
+     * Loads tasks into a list that only decodes each task when it is first accessed, keeping a bounded number
+     * of decoded tasks in memory. Only the journal mode supports this; other modes load every task up front.
+     *
+     * @return A list of the tasks in the file.
+     * @throws OmniException If the file is corrupted or cannot be read.
+     */
+    public List<Task> loadTasksLazily() throws OmniException {
+        long start = System.nanoTime();
         try {
-            Files.createDirectories(tasksPath.getParent());
-            Files.createFile(tasksPath);
-        } catch (IOException e) {
-            throw new CorruptedFileException(e.getMessage());
+            return store.loadLazily();
+        } finally {
+            StorageMetrics.LOAD.recordSince(start);
         }
     }
 
@@ -132,10 +132,69 @@ public class Storage {
     public void rewriteTask(Task task, int index) throws IOException {
         assert task != null : "task cannot be null";
         assert index >= 0 : "index must be non-negative";
-        List<String> lines = Files.readAllLines(tasksPath);
-        lines.remove(index);
-        lines.add(index, task.getEntryString());
-        Files.write(tasksPath, lines);
+        long start = System.nanoTime();
+        try {
+            if (writeBehind != null) {
+                store.checkFits(task);
+                writeBehind.submit(PendingWrite.replace(task, index));
+                return;
+            }
+            store.replace(task, index);
+            syncIfRequired();
+        } finally {
+            StorageMetrics.REPLACE.recordSince(start);
+        }
+    }
+
+    /**
+     * Rewrites only the done status of the task at the specified index in the file.
+     *
+     * @param task The task whose status changed.
+     * @param index The index of the task to rewrite.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void rewriteTaskStatus(Task task, int index) throws IOException {
+        assert task != null : "task cannot be null";
+        assert index >= 0 : "index must be non-negative";
+        long start = System.nanoTime();
+        try {
+            if (writeBehind != null) {
+                writeBehind.submit(PendingWrite.replaceStatus(task, index));
+                return;
+            }
+            store.replaceStatus(task, index);
+            syncIfRequired();
+        } finally {
+            StorageMetrics.REPLACE_STATUS.recordSince(start);
+        }
+    }
+
+    /**
+     * Rewrites only the done status of each of the tasks at the specified indices in the file, in one batch.
+     *
+     * @param tasks The tasks whose status changed.
+     * @param indices The indices of the tasks, in the same order as the tasks.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void rewriteTaskStatuses(List<Task> tasks, int[] indices) throws IOException {
+        assert tasks.size() == indices.length : "every task must have an index";
+        long start = System.nanoTime();
+        try {
+            ArrayList<PendingWrite> batch = new ArrayList<>(indices.length);
+            for (int i = 0; i < indices.length; i++) {
+                batch.add(PendingWrite.replaceStatus(tasks.get(i), indices[i]));
+            }
+            if (writeBehind != null) {
+                for (PendingWrite write : batch) {
+                    writeBehind.submit(write);
+                }
+                return;
+            }
+            store.applyBatch(batch);
+            syncIfRequired();
+        } finally {
+            StorageMetrics.REPLACE_STATUS.recordSince(start);
+        }
     }
 
     /**
@@ -145,7 +204,19 @@ public class Storage {
      * @throws IOException If an I/O error occurs.
      */
     public void writeTask(Task task) throws IOException {
-        Files.writeString(tasksPath, task.getEntryString() + "\n", StandardOpenOption.APPEND);
+        assert task != null : "task cannot be null";
+        long start = System.nanoTime();
+        try {
+            if (writeBehind != null) {
+                store.checkFits(task);
+                writeBehind.submit(PendingWrite.append(task));
+                return;
+            }
+            store.append(task);
+            syncIfRequired();
+        } finally {
+            StorageMetrics.APPEND.recordSince(start);
+        }
     }
 
     /**
@@ -155,8 +226,82 @@ public class Storage {
      * @throws IOException If an I/O error occurs.
      */
     public void eraseTask(int index) throws IOException {
-        List<String> lines = Files.readAllLines(tasksPath);
-        lines.remove(index);
-        Files.write(tasksPath, lines);
+        assert index >= 0 : "index must be non-negative";
+        long start = System.nanoTime();
+        try {
+            if (writeBehind != null) {
+                writeBehind.submit(PendingWrite.remove(index));
+                return;
+            }
+            store.remove(index);
+            syncIfRequired();
+        } finally {
+            StorageMetrics.REMOVE.recordSince(start);
+        }
+    }
+
+    /**
+     * Erases the tasks at the specified indices from the file, with a single rewrite where the layout needs one.
+     *
+     * @param indices The indices of the tasks to erase before any of them were erased, in increasing order.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void eraseTasks(int[] indices) throws IOException {
+        long start = System.nanoTime();
+        try {
+            if (writeBehind != null) {
+                writeBehind.submit(PendingWrite.removeAll(indices));
+                return;
+            }
+            store.removeAll(indices);
+            syncIfRequired();
+        } finally {
+            StorageMetrics.REMOVE.recordSince(start);
+        }
+    }
+
+    private void syncIfRequired() throws IOException {
+        if (fsyncPolicy == FsyncPolicy.BATCH) {
+            store.sync();
+        }
+    }
+
+    /**
+     * Writes every queued mutation to the file before returning. Does nothing if writes are not batched.
+     *
+     * @throws IOException If an I/O error occurs, including one from an earlier batch written in the background.
+     */
+    public void flush() throws IOException {
+        long start = System.nanoTime();
+        try {
+            if (writeBehind != null) {
+                writeBehind.flush();
+            }
+        } finally {
+            StorageMetrics.FLUSH.recordSince(start);
+        }
+    }
+
+    private void flushOnShutdown() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.err.println("Unable to save tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes every queued mutation and releases any file handles held open by the storage.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void close() throws IOException {
+        try {
+            if (writeBehind != null) {
+                writeBehind.close();
+            }
+        } finally {
+            store.close();
+        }
     }
 }
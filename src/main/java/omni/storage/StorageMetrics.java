@@ -0,0 +1,93 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import omni.metrics.LatencyHistogram;
+import omni.metrics.Metrics;
+
+/**
+ * Holds the metrics recorded by the storage package, and wraps the whole-file reads and writes of the stores so
+ * that the bytes they move are counted.
+ *
+ * <p>The latency of each {@link Storage} operation is measured as its caller sees it, so with batched writes it
+ * covers queueing the mutation, and the time taken to write each batch is recorded separately.
+ *
+ * @author Brandon Tan
+ */
+final class StorageMetrics {
+    static final LatencyHistogram LOAD = Metrics.histogram("storage.load");
+    static final LatencyHistogram APPEND = Metrics.histogram("storage.append");
+    static final LatencyHistogram REPLACE = Metrics.histogram("storage.replace");
+    static final LatencyHistogram REPLACE_STATUS = Metrics.histogram("storage.replaceStatus");
+    static final LatencyHistogram REMOVE = Metrics.histogram("storage.remove");
+    static final LatencyHistogram FLUSH = Metrics.histogram("storage.flush");
+    static final LatencyHistogram BATCH = Metrics.histogram("storage.writeBatch");
+    static final LongAdder BYTES_READ = Metrics.counter("storage.bytesRead");
+    static final LongAdder BYTES_WRITTEN = Metrics.counter("storage.bytesWritten");
+
+    private StorageMetrics() {}
+
+    static List<String> readAllLines(Path path) throws IOException {
+        BYTES_READ.add(Files.size(path));
+        return Files.readAllLines(path);
+    }
+
+    static void writeLines(Path path, List<String> lines) throws IOException {
+        Files.write(path, lines);
+        BYTES_WRITTEN.add(Files.size(path));
+    }
+
+    static void write(Path path, byte[] bytes, OpenOption... options) throws IOException {
+        Files.write(path, bytes, options);
+        BYTES_WRITTEN.add(bytes.length);
+    }
+
+    /**
+     * Replaces the contents of the file in a single step. The bytes are written to a sibling file and forced out to
+     * the storage device, which is then moved over the file, so a crash leaves either the old or the new contents.
+     */
+    static void writeAtomically(Path path, byte[] bytes) throws IOException {
+        Path partial = partialPathOf(path);
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        moveIntoPlace(partial, path);
+        BYTES_WRITTEN.add(bytes.length);
+    }
+
+    /**
+     * Returns the sibling file that new contents for the file are written to before they are moved into place.
+     */
+    static Path partialPathOf(Path path) {
+        return path.toAbsolutePath().resolveSibling(path.getFileName() + ".partial");
+    }
+
+    /**
+     * Moves a fully written partial file over the file it replaces, in a single step.
+     */
+    static void moveIntoPlace(Path partial, Path path) throws IOException {
+        Files.move(partial, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static void writeString(Path path, CharSequence text, OpenOption... options) throws IOException {
+        write(path, text.toString().getBytes(StandardCharsets.UTF_8), options);
+    }
+}
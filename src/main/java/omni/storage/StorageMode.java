@@ -0,0 +1,33 @@
+package omni.storage;
+
+/**
+ * Represents the on-disk layouts supported by {@link Storage}.
+ *
+ * @author Brandon Tan
+ */
+public enum StorageMode {
+    /** Plain text file that is rewritten in full on every mutation. */
+    TEXT,
+    /** Text snapshot plus an append-only journal of mutations that is replayed on load. */
+    JOURNAL,
+    /** Compact binary file, see {@link BinaryTaskCodec}; loading skips all string splitting and date parsing. */
+    BINARY,
+    /** Memory-mapped file of fixed-size slots, so a task is rewritten in place and mark/unmark is one byte. */
+    MAPPED;
+
+    /**
+     * Returns the mode with the given name, ignoring case.
+     * Falls back to {@link #TEXT} when the name is null or unknown.
+     *
+     * @param name The name of the mode, e.g. "journal".
+     * @return The matching storage mode.
+     */
+    public static StorageMode fromName(String name) {
+        for (StorageMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        return TEXT;
+    }
+}
@@ -0,0 +1,174 @@
+package omni.storage;
+
+import java.nio.CharBuffer;
+
+import omni.exceptions.CorruptedFileException;
+import omni.exceptions.OmniException;
+import omni.parser.DateTimeParser;
+import omni.tasks.Deadline;
+import omni.tasks.Event;
+import omni.tasks.Task;
+import omni.tasks.Todo;
+
+/**
+ * Parses the pipe-delimited entry strings produced by {@link Task#getEntryString()} back into tasks.
+ * Shared by every storage backend that persists tasks in the text format.
+ *
+ * <p>Entries are tokenised by scanning for {@code |} directly in the line's characters, without a regex or an
+ * intermediate array of fields, and dates are parsed in place by {@link DateTimeParser}; only the description
+ * string handed to the task constructors is allocated. As with {@code String.split}, empty fields at the end of a
+ * line are ignored. A parser reuses its field bookkeeping across lines, so each instance must only be used by one
+ * thread at a time.
+ *
+ * @author Brandon Tan
+ */
+final class TaskEntryParser {
+    private static final int MIN_FIELDS = 3;
+    private static final int MAX_FIELDS = 5;
+
+    /** fieldEnds[i] is the exclusive end of field i; field i starts right after fieldEnds[i - 1]. */
+    private final int[] fieldEnds = new int[MAX_FIELDS];
+    /** A view of the last line buffer parsed, kept so that a buffer reused across lines is only wrapped once. */
+    private CharBuffer lineView = CharBuffer.allocate(0);
+
+    /**
+     * Parses a single entry line into a task.
+     *
+     * @param line The entry line to parse.
+     * @return The task described by the line.
+     * @throws OmniException If the entry is malformed, or when date format is invalid.
+     */
+    Task parse(String line) throws OmniException {
+        return parse(line.toCharArray(), line.length());
+    }
+
+    /**
+     * Parses the entry held in the first {@code length} characters of the buffer into a task.
+     *
+     * @param line The buffer holding the entry line.
+     * @param length The length of the entry line.
+     * @return The task described by the line.
+     * @throws OmniException If the entry is malformed, or when date format is invalid.
+     */
+    Task parse(char[] line, int length) throws OmniException {
+        int fieldCount = splitFields(line, length, fieldEnds);
+        if (lineView.array() != line) {
+            lineView = CharBuffer.wrap(line);
+        }
+
+        char type = getType(line, fieldEnds);
+        String description = getField(line, fieldEnds, 1);
+        boolean isDone = getStatus(line, length, fieldEnds);
+        return switch (type) {
+        case 'T' -> createTodo(line, length, fieldCount, description, isDone);
+        case 'D' -> createDeadline(lineView, length, fieldEnds, fieldCount, description, isDone);
+        case 'E' -> createEvent(lineView, length, fieldEnds, fieldCount, description, isDone);
+        default -> throw new CorruptedFileException("Task type not found.\n" + new String(line, 0, length));
+        };
+    }
+
+    private static int splitFields(char[] line, int length, int[] fieldEnds) throws CorruptedFileException {
+        int fieldCount = 0;
+        for (int i = 0; i < length; i++) {
+            if (line[i] != '|') {
+                continue;
+            }
+            if (fieldCount == MAX_FIELDS - 1) {
+                throw entryLengthInvalid(line, length);
+            }
+            fieldEnds[fieldCount++] = i;
+        }
+        fieldEnds[fieldCount++] = length;
+        while (fieldCount > 1 && fieldStart(fieldEnds, fieldCount - 1) == fieldEnds[fieldCount - 1]) {
+            fieldCount--;
+        }
+        if (fieldCount < MIN_FIELDS) {
+            throw entryLengthInvalid(line, length);
+        }
+        return fieldCount;
+    }
+
+    private static CorruptedFileException entryLengthInvalid(char[] line, int length) {
+        return new CorruptedFileException("Entry length invalid.\n" + new String(line, 0, length));
+    }
+
+    private static int fieldStart(int[] fieldEnds, int field) {
+        return field == 0 ? 0 : fieldEnds[field - 1] + 1;
+    }
+
+    private static int trimmedStart(char[] line, int[] fieldEnds, int field) {
+        int start = fieldStart(fieldEnds, field);
+        while (start < fieldEnds[field] && line[start] <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimmedEnd(char[] line, int[] fieldEnds, int field, int start) {
+        int end = fieldEnds[field];
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static String getField(char[] line, int[] fieldEnds, int field) {
+        int start = trimmedStart(line, fieldEnds, field);
+        int end = trimmedEnd(line, fieldEnds, field, start);
+        return new String(line, start, end - start);
+    }
+
+    private static char getType(char[] line, int[] fieldEnds) {
+        int start = trimmedStart(line, fieldEnds, 0);
+        int end = trimmedEnd(line, fieldEnds, 0, start);
+        return end - start == 1 ? line[start] : '\0';
+    }
+
+    private static boolean getStatus(char[] line, int length, int[] fieldEnds) throws CorruptedFileException {
+        int start = trimmedStart(line, fieldEnds, 2);
+        int end = trimmedEnd(line, fieldEnds, 2, start);
+        if (start == end) {
+            throw new CorruptedFileException("Entry status invalid.\n" + new String(line, 0, length));
+        }
+        boolean isDone = false;
+        for (int i = start; i < end; i++) {
+            if (line[i] < '0' || line[i] > '9') {
+                throw new CorruptedFileException("Entry status invalid.\n" + new String(line, 0, length));
+            }
+            isDone |= line[i] != '0';
+        }
+        return isDone;
+    }
+
+    private static long getDateTime(CharBuffer line, int[] fieldEnds, int field) throws OmniException {
+        return DateTimeParser.parse(line, fieldStart(fieldEnds, field), fieldEnds[field]);
+    }
+
+    private static Event createEvent(CharBuffer line, int length, int[] fieldEnds, int fieldCount,
+            String description, boolean isDone) throws OmniException {
+        if (fieldCount != 5) {
+            throw new CorruptedFileException("Entry length for event invalid.\n" + line.subSequence(0, length));
+        }
+        long start = getDateTime(line, fieldEnds, 3);
+        long end = getDateTime(line, fieldEnds, 4);
+        return new Event(description, isDone, DateTimeParser.toDate(start), DateTimeParser.toTime(start),
+                DateTimeParser.toDate(end), DateTimeParser.toTime(end));
+    }
+
+    private static Deadline createDeadline(CharBuffer line, int length, int[] fieldEnds, int fieldCount,
+            String description, boolean isDone) throws OmniException {
+        if (fieldCount != 4) {
+            throw new CorruptedFileException("Entry length for deadline invalid.\n" + line.subSequence(0, length));
+        }
+        long by = getDateTime(line, fieldEnds, 3);
+        return new Deadline(description, isDone, DateTimeParser.toDate(by), DateTimeParser.toTime(by));
+    }
+
+    private static Todo createTodo(char[] line, int length, int fieldCount, String description, boolean isDone)
+            throws OmniException {
+        if (fieldCount != 3) {
+            throw new CorruptedFileException("Entry length for todo invalid.\n" + new String(line, 0, length));
+        }
+        return new Todo(description, isDone);
+    }
+}
@@ -0,0 +1,103 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import omni.exceptions.CorruptedFileException;
+import omni.exceptions.OmniException;
+import omni.tasks.Task;
+
+/**
+ * Streams a text task file into a list of tasks, one line at a time.
+ *
+ * <p>The file is decoded through a fixed {@value #BUFFER_SIZE}-character buffer and each line is copied into a
+ * reusable line buffer before being handed to a {@link TaskEntryParser}, so no per-line {@code String} or field
+ * array is created. Apart from the tasks themselves, peak memory is bounded by the read buffer plus the longest
+ * line in the file, independent of the size of the file.
+ *
+ * @author Brandon Tan
+ */
+class TaskFileReader {
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TaskEntryParser parser = new TaskEntryParser();
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private char[] line = new char[256];
+    private int lineLength;
+
+    /**
+     * Reads every task in the file at the given path, appending them to the list in file order.
+     * Lines may end with {@code \n} or {@code \r\n}.
+     *
+     * @param path The text task file.
+     * @param tasks The list the tasks are appended to.
+     * @throws OmniException If the file cannot be read or contains a malformed entry.
+     */
+    void read(Path path, List<Task> tasks) throws OmniException {
+        try (InputStream in = Files.newInputStream(path)) {
+            read(in, tasks);
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads every task in the stream, appending them to the list in stream order. The stream is not closed.
+     *
+     * @param in The UTF-8 encoded task lines.
+     * @param tasks The list the tasks are appended to.
+     * @throws OmniException If the stream cannot be read or contains a malformed entry.
+     */
+    void read(InputStream in, List<Task> tasks) throws OmniException {
+        lineLength = 0;
+        try {
+            Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8.newDecoder());
+            int read;
+            while ((read = reader.read(buffer, 0, buffer.length)) >= 0) {
+                consume(read, tasks);
+            }
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+        if (lineLength > 0) {
+            endLine(tasks);
+        }
+    }
+
+    private void consume(int read, List<Task> tasks) throws OmniException {
+        int start = 0;
+        for (int i = 0; i < read; i++) {
+            if (buffer[i] == '\n') {
+                appendToLine(start, i);
+                endLine(tasks);
+                start = i + 1;
+            }
+        }
+        appendToLine(start, read);
+    }
+
+    private void appendToLine(int from, int to) {
+        int count = to - from;
+        if (lineLength + count > line.length) {
+            line = Arrays.copyOf(line, Math.max(lineLength + count, line.length * 2));
+        }
+        System.arraycopy(buffer, from, line, lineLength, count);
+        lineLength += count;
+    }
+
+    private void endLine(List<Task> tasks) throws OmniException {
+        int length = lineLength;
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        tasks.add(parser.parse(line, length));
+        lineLength = 0;
+    }
+}
@@ -0,0 +1,146 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import omni.exceptions.OmniException;
+import omni.tasks.Task;
+
+/**
+ * Represents a persistence backend for the task list.
+ * Implementations decide how tasks are laid out on disk and how each mutation is recorded.
+ *
+ * @author Brandon Tan
+ */
+interface TaskStore {
+
+    /**
+     * Loads every persisted task in list order, appending them to the given list.
+     *
+     * @param tasks The list the persisted tasks are appended to.
+     * @throws OmniException If the backing files are corrupted or cannot be read.
+     */
+    void load(List<Task> tasks) throws OmniException;
+
+    /**
+     * Loads the persisted tasks into a list that decodes each task only when it is first accessed.
+     * Backends that cannot decode tasks on demand load every task up front.
+     *
+     * @return A list of the persisted tasks.
+     * @throws OmniException If the backing files are corrupted or cannot be read.
+     */
+    default List<Task> loadLazily() throws OmniException {
+        List<Task> tasks = new ArrayList<>();
+        load(tasks);
+        return tasks;
+    }
+
+    /**
+     * Checks that the task can be persisted by this store, so that a change that is bound to fail is refused
+     * before it is queued to be written.
+     *
+     * @param task The task about to be written.
+     * @throws IOException If the task cannot be persisted.
+     */
+    default void checkFits(Task task) throws IOException {}
+
+    /**
+     * Persists a task appended to the end of the list.
+     *
+     * @param task The task that was added.
+     * @throws IOException If an I/O error occurs.
+     */
+    void append(Task task) throws IOException;
+
+    /**
+     * Persists the new state of the task at the specified index.
+     *
+     * @param task The task now at the index.
+     * @param index The index of the task.
+     * @throws IOException If an I/O error occurs.
+     */
+    void replace(Task task, int index) throws IOException;
+
+    /**
+     * Persists a change to only the done status of the task at the specified index.
+     * Backends that cannot update the status on its own rewrite the whole task.
+     *
+     * @param task The task now at the index.
+     * @param index The index of the task.
+     * @throws IOException If an I/O error occurs.
+     */
+    default void replaceStatus(Task task, int index) throws IOException {
+        replace(task, index);
+    }
+
+    /**
+     * Persists the removal of the task at the specified index.
+     *
+     * @param index The index of the removed task.
+     * @throws IOException If an I/O error occurs.
+     */
+    void remove(int index) throws IOException;
+
+    /**
+     * Persists the removal of the tasks at the specified indices, all made at once. Backends that can remove
+     * them in fewer writes than one per task override this.
+     *
+     * @param indices The indices of the removed tasks before any of them were removed, in increasing order.
+     * @throws IOException If an I/O error occurs.
+     */
+    default void removeAll(int[] indices) throws IOException {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            remove(indices[i]);
+        }
+    }
+
+    /**
+     * Persists a batch of mutations in order. Backends that can combine the mutations into fewer writes than
+     * applying them one at a time override this.
+     *
+     * @param batch The mutations, in the order they were made.
+     * @throws IOException If an I/O error occurs.
+     */
+    default void applyBatch(List<PendingWrite> batch) throws IOException {
+        for (PendingWrite write : batch) {
+            write.applyTo(this);
+        }
+    }
+
+    /**
+     * Removes the items at the specified indices from a random-access list in a single pass.
+     *
+     * @param items The list to remove the items from.
+     * @param indices The indices of the items to remove, in increasing order.
+     */
+    static <T> void removeAllFrom(List<T> items, int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < items.size(); read++) {
+            if (next < indices.length && indices[next] == read) {
+                next++;
+            } else {
+                items.set(write++, items.get(read));
+            }
+        }
+        items.subList(write, items.size()).clear();
+    }
+
+    /**
+     * Forces every change persisted so far out to the storage device.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    default void sync() throws IOException {}
+
+    /**
+     * Releases any file handles held by this store.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    default void close() throws IOException {}
+}
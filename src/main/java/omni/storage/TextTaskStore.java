@@ -0,0 +1,151 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import omni.exceptions.CorruptedFileException;
+import omni.exceptions.OmniException;
+import omni.tasks.Task;
+
+/**
+ * Stores tasks as one pipe-delimited line per task.
+ * Appends are written in place, while every other mutation, including the removal of many tasks at once,
+ * rewrites the whole file.
+ * A batch of mutations is written with a single append, or a single rewrite if it holds anything but appends.
+ * A file found to be in the binary format when loaded is left alone, and every mutation to it is refused.
+ *
+ * @author Brandon Tan
+ */
+class TextTaskStore implements TaskStore {
+    private final Path tasksPath;
+    private boolean isBinaryFile;
+
+    /**
+     * Constructs a TextTaskStore backed by the specified file.
+     *
+     * @param tasksPath The path to the tasks file.
+     */
+    TextTaskStore(Path tasksPath) {
+        this.tasksPath = tasksPath;
+    }
+
+    @Override
+    public void load(List<Task> tasks) throws OmniException {
+        if (!Files.exists(tasksPath)) {
+            createTasksFile(tasksPath);
+            return;
+        }
+
+        checkNotBinary();
+        long fileSize = getFileSize();
+        if (ParallelTaskFileReader.isWorthwhile(fileSize)) {
+            new ParallelTaskFileReader(ForkJoinPool.commonPool()).read(tasksPath, tasks);
+        } else {
+            new TaskFileReader().read(tasksPath, tasks);
+        }
+        StorageMetrics.BYTES_READ.add(fileSize);
+    }
+
+    private long getFileSize() throws CorruptedFileException {
+        try {
+            return Files.size(tasksPath);
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+    }
+
+    private void checkNotBinary() throws CorruptedFileException {
+        try {
+            if (BinaryTaskCodec.isBinaryFile(tasksPath)) {
+                isBinaryFile = true;
+                throw new CorruptedFileException("Tasks file is in the binary format, load it in binary mode.");
+            }
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+    }
+
+    /** Create file based on the specified path */
+    static void createTasksFile(Path path) throws CorruptedFileException {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.createFile(path);
+        } catch (IOException e) {
+            throw new CorruptedFileException(e.getMessage());
+        }
+    }
+
+    private void checkWritable() throws IOException {
+        if (isBinaryFile) {
+            throw new IOException("Tasks file is in the binary format, so changes to it cannot be saved.");
+        }
+    }
+
+    @Override
+    public void append(Task task) throws IOException {
+        checkWritable();
+        StorageMetrics.writeString(tasksPath, task.getEntryString() + "\n", StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void replace(Task task, int index) throws IOException {
+        checkWritable();
+        List<String> lines = StorageMetrics.readAllLines(tasksPath);
+        lines.remove(index);
+        lines.add(index, task.getEntryString());
+        StorageMetrics.writeLines(tasksPath, lines);
+    }
+
+    @Override
+    public void remove(int index) throws IOException {
+        checkWritable();
+        List<String> lines = StorageMetrics.readAllLines(tasksPath);
+        lines.remove(index);
+        StorageMetrics.writeLines(tasksPath, lines);
+    }
+
+    @Override
+    public void removeAll(int[] indices) throws IOException {
+        checkWritable();
+        List<String> lines = StorageMetrics.readAllLines(tasksPath);
+        TaskStore.removeAllFrom(lines, indices);
+        StorageMetrics.writeLines(tasksPath, lines);
+    }
+
+    @Override
+    public void applyBatch(List<PendingWrite> batch) throws IOException {
+        checkWritable();
+        if (batch.stream().allMatch(write -> write.getKind() == PendingWrite.Kind.APPEND)) {
+            StringBuilder entries = new StringBuilder();
+            for (PendingWrite write : batch) {
+                entries.append(write.getTask().getEntryString()).append('\n');
+            }
+            StorageMetrics.writeString(tasksPath, entries, StandardOpenOption.APPEND);
+            return;
+        }
+        List<String> lines = StorageMetrics.readAllLines(tasksPath);
+        for (PendingWrite write : batch) {
+            switch (write.getKind()) {
+            case APPEND -> lines.add(write.getTask().getEntryString());
+            case REPLACE, REPLACE_STATUS -> lines.set(write.getIndex(), write.getTask().getEntryString());
+            case REMOVE -> lines.remove(write.getIndex());
+            case REMOVE_ALL -> TaskStore.removeAllFrom(lines, write.getIndices());
+            default -> throw new AssertionError(write.getKind());
+            }
+        }
+        StorageMetrics.writeLines(tasksPath, lines);
+    }
+
+    @Override
+    public void sync() throws IOException {
+        try (FileChannel channel = FileChannel.open(tasksPath, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+}
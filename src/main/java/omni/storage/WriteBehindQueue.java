@@ -0,0 +1,145 @@
+package omni.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects mutations for a {@link TaskStore} and applies them in batches on a background thread.
+ *
+ * <p>The first mutation after a flush schedules the next flush {@code maxDelayMillis} later, and every mutation
+ * submitted before then joins the same batch, which the store can persist in a single write. A batch is flushed
+ * early once it holds {@value #MAX_BATCH_SIZE} mutations. Batches are applied strictly in submission order.
+ *
+ * <p>Once a batch fails to be written, no later mutation is applied, since many of them refer to tasks by their
+ * position in a file that never received the failed batch. The mutations still queued are dropped, and every later
+ * call to {@link #submit}, {@link #flush} or {@link #close} reports the failure, since the caller that submitted
+ * the lost mutations may already have returned.
+ *
+ * @author Brandon Tan
+ */
+class WriteBehindQueue {
+    static final int MAX_BATCH_SIZE = 10_000;
+
+    private final TaskStore store;
+    private final long maxDelayMillis;
+    private final FsyncPolicy fsyncPolicy;
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService writer;
+    private ArrayList<PendingWrite> pending = new ArrayList<>();
+    private boolean isFlushScheduled;
+    private IOException failure;
+
+    /**
+     * Constructs a WriteBehindQueue in front of the given store.
+     *
+     * @param store The store the batches are applied to.
+     * @param maxDelayMillis The longest a mutation waits before its batch is flushed.
+     * @param fsyncPolicy Whether each batch is forced out to the storage device.
+     */
+    WriteBehindQueue(TaskStore store, long maxDelayMillis, FsyncPolicy fsyncPolicy) {
+        assert maxDelayMillis > 0 : "maxDelayMillis must be positive";
+        this.store = store;
+        this.maxDelayMillis = maxDelayMillis;
+        this.fsyncPolicy = fsyncPolicy;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "omni-storage-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a mutation to be applied with the next batch.
+     *
+     * @param write The mutation.
+     * @throws IOException If an earlier batch failed to be written, so no more mutations are accepted.
+     */
+    synchronized void submit(PendingWrite write) throws IOException {
+        throwIfFailed();
+        pending.add(write);
+        if (pending.size() >= MAX_BATCH_SIZE) {
+            writer.execute(this::flushInBackground);
+        } else if (!isFlushScheduled) {
+            isFlushScheduled = true;
+            writer.schedule(this::flushInBackground, maxDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies every queued mutation to the store before returning.
+     *
+     * @throws IOException If the batch, or an earlier batch written in the background, could not be written.
+     */
+    void flush() throws IOException {
+        applyPending();
+        synchronized (this) {
+            throwIfFailed();
+        }
+    }
+
+    private void flushInBackground() {
+        try {
+            applyPending();
+        } catch (IOException e) {
+            // Recorded by applyPending, and reported to the next caller.
+        }
+    }
+
+    private void applyPending() throws IOException {
+        synchronized (flushLock) {
+            ArrayList<PendingWrite> batch = takePending();
+            if (batch.isEmpty() || hasFailed()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                store.applyBatch(batch);
+                if (fsyncPolicy == FsyncPolicy.BATCH) {
+                    store.sync();
+                }
+            } catch (IOException e) {
+                fail(e);
+                throw e;
+            }
+            StorageMetrics.BATCH.recordSince(start);
+        }
+    }
+
+    private synchronized ArrayList<PendingWrite> takePending() {
+        ArrayList<PendingWrite> batch = pending;
+        pending = new ArrayList<>();
+        isFlushScheduled = false;
+        return batch;
+    }
+
+    private synchronized void fail(IOException e) {
+        failure = e;
+    }
+
+    private synchronized boolean hasFailed() {
+        return failure != null;
+    }
+
+    private void throwIfFailed() throws IOException {
+        if (failure != null) {
+            throw new IOException("Changes can no longer be saved, as an earlier write failed: "
+                    + failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * Flushes every queued mutation and stops the background writer.
+     *
+     * @throws IOException If the final batch, or an earlier one, could not be written.
+     */
+    void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            writer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package omni.tasklist;
+
+/**
+ * Represents a list of tasks that removes many tasks at once more cheaply than one {@code remove} per task.
+ * {@link TaskList} hands every bulk removal to lists that implement this.
+ *
+ * @author Brandon Tan
+ */
+public interface BulkRemovableList {
+
+    /**
+     * Removes the tasks at the given indices, moving every remaining task at most once.
+     *
+     * @param indices The distinct indices of the tasks to remove, in increasing order.
+     */
+    void removeAll(int[] indices);
+}
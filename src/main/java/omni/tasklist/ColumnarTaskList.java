@@ -0,0 +1,298 @@
+package omni.tasklist;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import omni.parser.DateTimeParser;
+import omni.tasks.Deadline;
+import omni.tasks.Event;
+import omni.tasks.Task;
+import omni.tasks.Todo;
+
+/**
+ * A list of tasks that keeps each field of every task in its own primitive column instead of keeping task objects.
+ *
+ * <p>Done flags are held in a {@link BitSet}, task types in a {@code byte[]}, and the due date of a deadline or the
+ * start and end of an event in {@code long[]} columns, packed by {@link DateTimeParser}. Descriptions are stored
+ * back to back as UTF-8 in a single byte array, with each task keeping the offset and length of its description. A
+ * task costs about 25 bytes plus its description this way, against well over 100 bytes as a task object with its own
+ * description string, date and time objects.
+ *
+ * <p>Equal descriptions are stored once. Like {@code DescriptionPool}, a fixed number of slots chosen by each
+ * description's hash remember where the description last stored for that slot is, and a task whose description is
+ * equal to it points at those bytes instead of adding its own, so that recurring tasks such as "standup" take no
+ * more text however many of them there are.
+ *
+ * <p>{@link #get(int)} builds a new task object from the columns on every call, so a change made to that object is
+ * only kept once it is {@link #set} back, as {@link TaskList} always does. Its description is not pooled, as the
+ * object is a view that is soon discarded. Replacing a description leaves the old one behind in the byte array until
+ * enough space is wasted that the array is compacted.
+ *
+ * @author Brandon Tan
+ */
+public class ColumnarTaskList extends AbstractList<Task> implements BulkRemovableList, RandomAccess {
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_TEXT_CAPACITY = 256;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int SHARED_SLOT_COUNT = 1 << 12;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private final BitSet done = new BitSet();
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private int[] textOffsets = new int[INITIAL_CAPACITY];
+    private int[] textLengths = new int[INITIAL_CAPACITY];
+    private byte[] text = new byte[INITIAL_TEXT_CAPACITY];
+    private int textSize;
+    /** The total length of the descriptions of the tasks in the list, counting a shared description for each task. */
+    private long usedTextSize;
+    /**
+     * The total length of the descriptions that tasks stopped referring to since the text was last compacted. Those
+     * bytes may still be shared by other tasks, so this is at least the number of bytes no task refers to.
+     */
+    private long unusedTextSize;
+    private final int[] sharedOffsets = new int[SHARED_SLOT_COUNT];
+    private final int[] sharedLengths = new int[SHARED_SLOT_COUNT];
+    private int size;
+
+    /**
+     * Constructs an empty list.
+     */
+    public ColumnarTaskList() {
+    }
+
+    /**
+     * Constructs a list holding the given tasks, in order. The tasks themselves are not kept.
+     *
+     * @param tasks The tasks to copy into the list.
+     */
+    public ColumnarTaskList(Collection<? extends Task> tasks) {
+        ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            add(task);
+        }
+        text = Arrays.copyOf(text, Math.max(INITIAL_TEXT_CAPACITY, textSize));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        String description = new String(text, textOffsets[index], textLengths[index], StandardCharsets.UTF_8);
+        boolean isDone = done.get(index);
+        return switch (types[index]) {
+        case DEADLINE -> Deadline.view(description, isDone, DateTimeParser.toDate(starts[index]),
+                DateTimeParser.toTime(starts[index]));
+        case EVENT -> Event.view(description, isDone, DateTimeParser.toDate(starts[index]),
+                DateTimeParser.toTime(starts[index]), DateTimeParser.toDate(ends[index]),
+                DateTimeParser.toTime(ends[index]));
+        default -> Todo.view(description, isDone);
+        };
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "task cannot be null";
+        Task previous = get(index);
+        write(index, task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "task cannot be null";
+        Objects.checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        int moved = size - index;
+        System.arraycopy(types, index, types, index + 1, moved);
+        System.arraycopy(starts, index, starts, index + 1, moved);
+        System.arraycopy(ends, index, ends, index + 1, moved);
+        System.arraycopy(textOffsets, index, textOffsets, index + 1, moved);
+        System.arraycopy(textLengths, index, textLengths, index + 1, moved);
+        for (int i = done.previousSetBit(size - 1); i >= index; i = done.previousSetBit(i - 1)) {
+            done.clear(i);
+            done.set(i + 1);
+        }
+        textLengths[index] = 0;
+        size++;
+        modCount++;
+        write(index, task);
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        removeAll(new int[] {index});
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        int[] indices = new int[toIndex - fromIndex];
+        Arrays.setAll(indices, i -> fromIndex + i);
+        removeAll(indices);
+    }
+
+    @Override
+    public void clear() {
+        done.clear();
+        size = 0;
+        textSize = 0;
+        usedTextSize = 0;
+        unusedTextSize = 0;
+        Arrays.fill(sharedLengths, 0);
+        modCount++;
+    }
+
+    @Override
+    public void removeAll(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+        Objects.checkIndex(indices[0], size);
+        Objects.checkIndex(indices[indices.length - 1], size);
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < size; read++) {
+            if (next < indices.length && indices[next] == read) {
+                usedTextSize -= textLengths[read];
+                unusedTextSize += textLengths[read];
+                next++;
+                continue;
+            }
+            types[write] = types[read];
+            done.set(write, done.get(read));
+            starts[write] = starts[read];
+            ends[write] = ends[read];
+            textOffsets[write] = textOffsets[read];
+            textLengths[write] = textLengths[read];
+            write++;
+        }
+        assert next == indices.length : "indices must be distinct, in range and in increasing order";
+        done.clear(write, size);
+        size = write;
+        modCount++;
+        if (hasMostlyUnusedText()) {
+            compactText();
+        }
+    }
+
+    private boolean hasMostlyUnusedText() {
+        return unusedTextSize > usedTextSize && unusedTextSize > INITIAL_TEXT_CAPACITY;
+    }
+
+    private void write(int index, Task task) {
+        if (task instanceof Deadline deadline) {
+            types[index] = DEADLINE;
+            starts[index] = DateTimeParser.pack(deadline.getDate(), deadline.getTime());
+            ends[index] = 0;
+        } else if (task instanceof Event event) {
+            types[index] = EVENT;
+            starts[index] = DateTimeParser.pack(event.getStartDate(), event.getStartTime());
+            ends[index] = DateTimeParser.pack(event.getEndDate(), event.getEndTime());
+        } else {
+            types[index] = TODO;
+            starts[index] = 0;
+            ends[index] = 0;
+        }
+        done.set(index, task.isDone());
+        writeDescription(index, task.getDescription().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeDescription(int index, byte[] description) {
+        int offset = textOffsets[index];
+        int length = textLengths[index];
+        if (length == description.length
+                && Arrays.equals(text, offset, offset + length, description, 0, description.length)) {
+            return;
+        }
+        usedTextSize -= length;
+        unusedTextSize += length;
+        textLengths[index] = 0;
+        if (hasMostlyUnusedText()) {
+            compactText();
+        }
+        textOffsets[index] = share(description, 0, description.length);
+        textLengths[index] = description.length;
+        usedTextSize += description.length;
+    }
+
+    /**
+     * Returns the offset in {@link #text} of a description equal to the given bytes, appending the bytes to the text
+     * unless the slot for their hash already holds an equal description.
+     *
+     * @param source The array holding the description.
+     * @param from The offset of the description in the array.
+     * @param length The length of the description.
+     * @return The offset of an equal description in the text.
+     */
+    private int share(byte[] source, int from, int length) {
+        int hash = 1;
+        for (int i = from; i < from + length; i++) {
+            hash = 31 * hash + source[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (SHARED_SLOT_COUNT - 1);
+        int sharedOffset = sharedOffsets[slot];
+        if (sharedLengths[slot] == length
+                && Arrays.equals(text, sharedOffset, sharedOffset + length, source, from, from + length)) {
+            return sharedOffset;
+        }
+        ensureTextCapacity((long) textSize + length);
+        int offset = textSize;
+        System.arraycopy(source, from, text, offset, length);
+        sharedOffsets[slot] = offset;
+        sharedLengths[slot] = length;
+        textSize += length;
+        return offset;
+    }
+
+    /**
+     * Rewrites the descriptions back to back in list order, dropping the bytes no task refers to and storing equal
+     * descriptions once.
+     */
+    private void compactText() {
+        byte[] uncompacted = text;
+        text = new byte[(int) Math.max(INITIAL_TEXT_CAPACITY, Math.min(textSize, usedTextSize))];
+        textSize = 0;
+        Arrays.fill(sharedLengths, 0);
+        for (int i = 0; i < size; i++) {
+            textOffsets[i] = share(uncompacted, textOffsets[i], textLengths[i]);
+        }
+        unusedTextSize = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = (int) Math.min(MAX_ARRAY_SIZE, Math.max(capacity, types.length * 2L));
+        types = Arrays.copyOf(types, newCapacity);
+        starts = Arrays.copyOf(starts, newCapacity);
+        ends = Arrays.copyOf(ends, newCapacity);
+        textOffsets = Arrays.copyOf(textOffsets, newCapacity);
+        textLengths = Arrays.copyOf(textLengths, newCapacity);
+    }
+
+    private void ensureTextCapacity(long capacity) {
+        if (capacity <= text.length) {
+            return;
+        }
+        if (capacity > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Task descriptions exceed " + MAX_ARRAY_SIZE + " bytes");
+        }
+        text = Arrays.copyOf(text, (int) Math.min(MAX_ARRAY_SIZE, Math.max(capacity, text.length * 2L)));
+    }
+}
@@ -0,0 +1,111 @@
+package omni.tasklist;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import omni.tasks.Deadline;
+import omni.tasks.Event;
+import omni.tasks.Task;
+
+/**
+ * An index of deadlines and events ordered by date, keyed by the number of minutes since the epoch.
+ * A deadline is keyed by its due date and an event by its start; a date without a time is keyed at the start of
+ * that day. Todos have no date and are not indexed.
+ *
+ * <p>A range query walks only the keys inside the range, so it costs O(log n + k) for k matching tasks.
+ *
+ * @author Brandon Tan
+ */
+class DateIndex {
+    /** The key of a task that has no date. */
+    static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final TreeMap<Long, IntPostings> postings = new TreeMap<>();
+
+    /**
+     * Returns the key a task is indexed under, or {@link #NO_DATE} if it has no date.
+     *
+     * @param task The task.
+     * @return The key of the task.
+     */
+    static long keyOf(Task task) {
+        if (task instanceof Deadline deadline) {
+            return toEpochMinute(deadline.getDate(), deadline.getTime());
+        }
+        if (task instanceof Event event) {
+            return toEpochMinute(event.getStartDate(), event.getStartTime());
+        }
+        return NO_DATE;
+    }
+
+    private static long toEpochMinute(LocalDate date, LocalTime time) {
+        long minuteOfDay = time == null ? 0 : time.getHour() * 60 + time.getMinute();
+        return date.toEpochDay() * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    /**
+     * Returns the key of the given date and time.
+     *
+     * @param dateTime The date and time.
+     * @return The number of minutes between the epoch and the date and time.
+     */
+    static long toEpochMinute(LocalDateTime dateTime) {
+        return toEpochMinute(dateTime.toLocalDate(), dateTime.toLocalTime());
+    }
+
+    /**
+     * Indexes a task id under the given key. Does nothing for {@link #NO_DATE}.
+     *
+     * @param id The id of the task.
+     * @param key The key of the task.
+     */
+    void add(int id, long key) {
+        if (key != NO_DATE) {
+            postings.computeIfAbsent(key, k -> new IntPostings()).add(id);
+        }
+    }
+
+    /**
+     * Removes a task id from the given key. Does nothing for {@link #NO_DATE}.
+     *
+     * @param id The id of the task.
+     * @param key The key the task was indexed under.
+     */
+    void remove(int id, long key) {
+        IntPostings ids = key == NO_DATE ? null : postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the tasks keyed within the inclusive range, ordered by key and then by id.
+     *
+     * @param from The first key in the range.
+     * @param to The last key in the range.
+     * @return The ids of the tasks in the range.
+     */
+    int[] findBetween(long from, long to) {
+        int[] found = new int[16];
+        int count = 0;
+        for (Map.Entry<Long, IntPostings> entry : postings.subMap(from, true, to, true).entrySet()) {
+            IntPostings ids = entry.getValue();
+            if (count + ids.size() > found.length) {
+                found = Arrays.copyOf(found, Math.max(count + ids.size(), found.length * 2));
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                found[count++] = ids.get(i);
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+}
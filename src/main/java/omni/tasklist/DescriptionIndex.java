@@ -0,0 +1,49 @@
+package omni.tasklist;
+
+/**
+ * Narrows a case-insensitive substring search over task descriptions down to a set of candidate task ids.
+ * Keywords of at least {@value TrigramIndex#GRAM_LENGTH} characters are looked up in a {@link TrigramIndex};
+ * shorter keywords, which have no trigram, are looked up in a {@link KeywordIndex} of whole words.
+ *
+ * @author Brandon Tan
+ */
+class DescriptionIndex {
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+
+    /**
+     * Indexes a description under the given task id.
+     *
+     * @param id The id of the task.
+     * @param description The description of the task.
+     */
+    void add(int id, String description) {
+        trigramIndex.add(id, description);
+        keywordIndex.add(id, description);
+    }
+
+    /**
+     * Removes a description from the index of the given task id.
+     *
+     * @param id The id of the task.
+     * @param description The description the task was indexed with.
+     */
+    void remove(int id, String description) {
+        trigramIndex.remove(id, description);
+        keywordIndex.remove(id, description);
+    }
+
+    /**
+     * Returns the ids, in increasing order, of the tasks whose descriptions may contain the keyword,
+     * or null if every task has to be checked.
+     *
+     * @param lowerKeyword The lowercase keyword.
+     * @return The candidate ids, or null if the index cannot narrow the search.
+     */
+    int[] findCandidates(String lowerKeyword) {
+        if (lowerKeyword.length() >= TrigramIndex.GRAM_LENGTH) {
+            return trigramIndex.findCandidates(lowerKeyword);
+        }
+        return keywordIndex.findCandidates(lowerKeyword);
+    }
+}
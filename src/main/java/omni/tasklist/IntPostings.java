@@ -0,0 +1,169 @@
+package omni.tasklist;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of task ids backed by a plain int array.
+ * Ids are usually added in increasing order, which makes adding one an append.
+ *
+ * <p>Adding an id below the largest one, or removing any id but the largest, would shift the rest of the array, and
+ * the search indexes make one such change per trigram of a description. These changes are instead logged and merged
+ * into the array in a single sorted pass the next time the set is read, or once the log holds more changes than the
+ * set holds ids, so a run of changes between two searches costs one pass over the set rather than one per change.
+ *
+ * @author Brandon Tan
+ */
+class IntPostings {
+    private static final int MIN_PENDING_CAPACITY = 8;
+
+    private int[] ids = new int[4];
+    private int size;
+    /** Changes not yet merged into {@link #ids}, each packed by {@link #packChange}, in the order they were made. */
+    private long[] pending;
+    private int pendingCount;
+
+    /**
+     * Adds an id to the set.
+     *
+     * @param id The id to add, which must not be negative.
+     */
+    void add(int id) {
+        assert id >= 0 : "id must not be negative";
+        if (pendingCount == 0) {
+            if (size == 0 || ids[size - 1] < id) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = id;
+                return;
+            }
+            if (Arrays.binarySearch(ids, 0, size, id) >= 0) {
+                return;
+            }
+        }
+        defer(id, true);
+    }
+
+    /**
+     * Removes an id from the set if it is present.
+     *
+     * @param id The id to remove.
+     */
+    void remove(int id) {
+        if (pendingCount == 0) {
+            if (size > 0 && ids[size - 1] == id) {
+                size--;
+                return;
+            }
+            if (Arrays.binarySearch(ids, 0, size, id) < 0) {
+                return;
+            }
+        }
+        defer(id, false);
+    }
+
+    private void defer(int id, boolean isAdd) {
+        if (pending == null) {
+            pending = new long[MIN_PENDING_CAPACITY];
+        } else if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount] = packChange(id, pendingCount, isAdd);
+        pendingCount++;
+        if (pendingCount > Math.max(MIN_PENDING_CAPACITY, size)) {
+            settle();
+        }
+    }
+
+    /**
+     * Packs a change so that sorting changes orders them by id, and the changes to one id in the order they were made.
+     */
+    private static long packChange(int id, int sequence, boolean isAdd) {
+        return (long) id << 32 | (long) sequence << 1 | (isAdd ? 1 : 0);
+    }
+
+    /**
+     * Merges the logged changes into the array, keeping the last change made to each id.
+     */
+    private void settle() {
+        if (pendingCount == 0) {
+            return;
+        }
+        Arrays.sort(pending, 0, pendingCount);
+        int[] merged = new int[Math.max(4, size + pendingCount)];
+        int read = 0;
+        int write = 0;
+        int change = 0;
+        while (change < pendingCount) {
+            int id = (int) (pending[change] >>> 32);
+            while (change + 1 < pendingCount && (int) (pending[change + 1] >>> 32) == id) {
+                change++;
+            }
+            while (read < size && ids[read] < id) {
+                merged[write++] = ids[read++];
+            }
+            if (read < size && ids[read] == id) {
+                read++;
+            }
+            if ((pending[change] & 1) != 0) {
+                merged[write++] = id;
+            }
+            change++;
+        }
+        System.arraycopy(ids, read, merged, write, size - read);
+        ids = merged;
+        size = write + size - read;
+        pendingCount = 0;
+    }
+
+    /**
+     * Returns the first index at or after {@code from} holding an id not less than the given id, or the size of the
+     * set if there is none. The search gallops forward from {@code from}, so walking a set in increasing order of
+     * ids costs time logarithmic in the distance skipped rather than in the size of the set.
+     *
+     * @param from The index to start searching from.
+     * @param id The id to search for.
+     * @return The index of the first id not less than the given id.
+     */
+    int seek(int from, int id) {
+        settle();
+        int low = from;
+        int step = 1;
+        while (low + step < size && ids[low + step] < id) {
+            low += step;
+            step <<= 1;
+        }
+        int high = Math.min(low + step, size);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns whether the set is empty, without merging logged changes unless they could have removed every id.
+     *
+     * @return True if the set holds no ids.
+     */
+    boolean isEmpty() {
+        if (pendingCount >= size) {
+            settle();
+        }
+        return size == 0;
+    }
+
+    int size() {
+        settle();
+        return size;
+    }
+
+    int get(int index) {
+        settle();
+        return ids[index];
+    }
+}
@@ -0,0 +1,193 @@
+package omni.tasklist;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * An inverted index from the lowercase words of task descriptions to the ids of the tasks containing them.
+ *
+ * <p>A word is a maximal run of letters and digits. Every word of a keyword lies inside some word of a description
+ * that contains the keyword, so the tasks indexed under the vocabulary words containing the keyword's longest word
+ * are a superset of the matches. The caller verifies each candidate against the full keyword, which keeps the
+ * substring semantics of {@code find} while only touching tasks that share a word with the keyword.
+ *
+ * <p>Each vocabulary word is numbered and indexed under every one- and two-character substring it contains, so
+ * the words containing a keyword word of up to two characters are read straight from that index, and longer
+ * keyword words only check the words sharing their first two characters. A lookup therefore costs time in the
+ * number of matching words and tasks rather than in the size of the vocabulary.
+ *
+ * @author Brandon Tan
+ */
+class KeywordIndex {
+    private static final int MAX_GRAM_LENGTH = 2;
+
+    private final Map<String, Word> words = new HashMap<>();
+    private final ArrayList<Word> wordsByNumber = new ArrayList<>();
+    private final IntPostings freeNumbers = new IntPostings();
+    private final Map<Integer, IntPostings> wordNumbersByGram = new HashMap<>();
+
+    /**
+     * Indexes the words of a description under the given task id.
+     *
+     * @param id The id of the task.
+     * @param description The description of the task.
+     */
+    void add(int id, String description) {
+        String lower = description.toLowerCase();
+        int start = nextWordStart(lower, 0);
+        while (start < lower.length()) {
+            int end = wordEnd(lower, start);
+            String text = lower.substring(start, end);
+            Word word = words.get(text);
+            if (word == null) {
+                word = addWord(text);
+            }
+            word.tasks.add(id);
+            start = nextWordStart(lower, end);
+        }
+    }
+
+    /**
+     * Removes the words of a description from the postings of the given task id.
+     *
+     * @param id The id of the task.
+     * @param description The description the task was indexed with.
+     */
+    void remove(int id, String description) {
+        String lower = description.toLowerCase();
+        int start = nextWordStart(lower, 0);
+        while (start < lower.length()) {
+            int end = wordEnd(lower, start);
+            Word word = words.get(lower.substring(start, end));
+            if (word != null) {
+                word.tasks.remove(id);
+                if (word.tasks.isEmpty()) {
+                    removeWord(word);
+                }
+            }
+            start = nextWordStart(lower, end);
+        }
+    }
+
+    /**
+     * Returns the ids of the tasks that may contain the keyword, or null if the keyword has no letters or digits
+     * to look up, in which case every task is a candidate.
+     *
+     * @param lowerKeyword The lowercase keyword.
+     * @return The candidate ids in increasing order, or null if the index cannot narrow the search.
+     */
+    int[] findCandidates(String lowerKeyword) {
+        String longestWord = findLongestWord(lowerKeyword);
+        if (longestWord == null) {
+            return null;
+        }
+        IntPostings wordNumbers = wordNumbersByGram.get(gramAt(longestWord, 0,
+                Math.min(longestWord.length(), MAX_GRAM_LENGTH)));
+        if (wordNumbers == null) {
+            return new int[0];
+        }
+        BitSet candidates = new BitSet();
+        for (int i = 0; i < wordNumbers.size(); i++) {
+            Word word = wordsByNumber.get(wordNumbers.get(i));
+            if (!word.text.contains(longestWord)) {
+                continue;
+            }
+            for (int j = 0; j < word.tasks.size(); j++) {
+                candidates.set(word.tasks.get(j));
+            }
+        }
+        return candidates.stream().toArray();
+    }
+
+    private Word addWord(String text) {
+        int number;
+        if (freeNumbers.isEmpty()) {
+            number = wordsByNumber.size();
+            wordsByNumber.add(null);
+        } else {
+            number = freeNumbers.get(freeNumbers.size() - 1);
+            freeNumbers.remove(number);
+        }
+        Word word = new Word(number, text);
+        wordsByNumber.set(number, word);
+        words.put(text, word);
+        forEachGram(text, gram -> wordNumbersByGram.computeIfAbsent(gram, key -> new IntPostings()).add(number));
+        return word;
+    }
+
+    private void removeWord(Word word) {
+        words.remove(word.text);
+        wordsByNumber.set(word.number, null);
+        freeNumbers.add(word.number);
+        forEachGram(word.text, gram -> {
+            IntPostings wordNumbers = wordNumbersByGram.get(gram);
+            wordNumbers.remove(word.number);
+            if (wordNumbers.isEmpty()) {
+                wordNumbersByGram.remove(gram);
+            }
+        });
+    }
+
+    private static void forEachGram(String word, IntConsumer action) {
+        for (int i = 0; i < word.length(); i++) {
+            action.accept(gramAt(word, i, 1));
+            if (i + 1 < word.length()) {
+                action.accept(gramAt(word, i, 2));
+            }
+        }
+    }
+
+    /**
+     * Packs the one or two characters of a word starting at the given index into an int. A two-character gram
+     * never equals a one-character one, since its first character is a letter or digit and so not zero.
+     */
+    private static int gramAt(String word, int index, int length) {
+        return length == 1 ? word.charAt(index) : word.charAt(index) << 16 | word.charAt(index + 1);
+    }
+
+    private static String findLongestWord(String text) {
+        String longest = null;
+        int start = nextWordStart(text, 0);
+        while (start < text.length()) {
+            int end = wordEnd(text, start);
+            if (longest == null || end - start > longest.length()) {
+                longest = text.substring(start, end);
+            }
+            start = nextWordStart(text, end);
+        }
+        return longest;
+    }
+
+    private static int nextWordStart(String text, int from) {
+        int i = from;
+        while (i < text.length() && !Character.isLetterOrDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int wordEnd(String text, int start) {
+        int i = start;
+        while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * A word of the vocabulary, with its number in the gram index and the ids of the tasks containing it.
+     */
+    private static final class Word {
+        private final int number;
+        private final String text;
+        private final IntPostings tasks = new IntPostings();
+
+        private Word(int number, String text) {
+            this.number = number;
+            this.text = text;
+        }
+    }
+}
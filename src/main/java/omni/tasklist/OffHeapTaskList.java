@@ -0,0 +1,298 @@
+package omni.tasklist;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import omni.parser.DateTimeParser;
+import omni.tasks.Deadline;
+import omni.tasks.Event;
+import omni.tasks.Task;
+import omni.tasks.Todo;
+
+/**
+ * A list of tasks whose records live outside the Java heap, in direct byte buffers.
+ *
+ * <p>Each task is a fixed-size record of {@value #RECORD_BYTES} bytes holding its type, done flag, packed dates
+ * and the location of its description, which is stored as UTF-8 in a separate direct text area. Both are split into
+ * chunks allocated as the list grows, so the list is not limited by the 2 GB size of a single buffer, and the
+ * heap only holds one small buffer object per chunk however many tasks there are. The garbage collector therefore
+ * has nothing to trace or copy for the tasks themselves.
+ *
+ * <p>{@link #get(int)} builds a short-lived task object from the record on every call, so a change made to that
+ * object is only kept once it is {@link #set} back, as {@link TaskList} always does. Its description is not
+ * pooled, as the object is a view that is soon discarded. Replacing a description leaves the old one behind in the
+ * text area until enough space is wasted that the area is compacted.
+ *
+ * <p>Direct memory is limited by {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ *
+ * @author Brandon Tan
+ */
+public class OffHeapTaskList extends AbstractList<Task> implements BulkRemovableList, RandomAccess {
+    private static final int RECORD_BYTES = 32;
+    private static final int TYPE = 0;
+    private static final int DONE = 1;
+    private static final int TEXT_LENGTH = 4;
+    private static final int TEXT_OFFSET = 8;
+    private static final int START = 16;
+    private static final int END = 24;
+
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+
+    private static final int RECORD_CHUNK_SHIFT = 16;
+    private static final int RECORDS_PER_CHUNK = 1 << RECORD_CHUNK_SHIFT;
+    private static final int TEXT_CHUNK_SHIFT = 22;
+    private static final int TEXT_CHUNK_BYTES = 1 << TEXT_CHUNK_SHIFT;
+
+    private final List<ByteBuffer> records = new ArrayList<>();
+    private List<ByteBuffer> text = new ArrayList<>();
+    private long textSize;
+    /** The number of bytes of the text area that no task refers to any more. */
+    private long unusedTextSize;
+    private int size;
+
+    /**
+     * Constructs an empty list.
+     */
+    public OffHeapTaskList() {
+    }
+
+    /**
+     * Constructs a list holding the given tasks, in order. The tasks themselves are not kept.
+     *
+     * @param tasks The tasks to copy into the list.
+     */
+    public OffHeapTaskList(Collection<? extends Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        ByteBuffer chunk = recordChunk(index);
+        int record = recordPosition(index);
+        String description = new String(readText(chunk.getLong(record + TEXT_OFFSET),
+                chunk.getInt(record + TEXT_LENGTH)), StandardCharsets.UTF_8);
+        boolean isDone = chunk.get(record + DONE) != 0;
+        long start = chunk.getLong(record + START);
+        long end = chunk.getLong(record + END);
+        return switch (chunk.get(record + TYPE)) {
+        case DEADLINE -> Deadline.view(description, isDone, DateTimeParser.toDate(start), DateTimeParser.toTime(start));
+        case EVENT -> Event.view(description, isDone, DateTimeParser.toDate(start), DateTimeParser.toTime(start),
+                DateTimeParser.toDate(end), DateTimeParser.toTime(end));
+        default -> Todo.view(description, isDone);
+        };
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "task cannot be null";
+        Task previous = get(index);
+        write(index, task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "task cannot be null";
+        Objects.checkIndex(index, size + 1);
+        if (size == records.size() * RECORDS_PER_CHUNK) {
+            records.add(allocate(RECORDS_PER_CHUNK * RECORD_BYTES));
+        }
+        for (int i = size; i > index; i--) {
+            copyRecord(i - 1, i);
+        }
+        recordChunk(index).putInt(recordPosition(index) + TEXT_LENGTH, 0);
+        size++;
+        modCount++;
+        write(index, task);
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        removeAll(new int[] {index});
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        int[] indices = new int[toIndex - fromIndex];
+        Arrays.setAll(indices, i -> fromIndex + i);
+        removeAll(indices);
+    }
+
+    @Override
+    public void clear() {
+        records.clear();
+        text = new ArrayList<>();
+        textSize = 0;
+        unusedTextSize = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public void removeAll(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+        Objects.checkIndex(indices[0], size);
+        Objects.checkIndex(indices[indices.length - 1], size);
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < size; read++) {
+            if (next < indices.length && indices[next] == read) {
+                unusedTextSize += recordChunk(read).getInt(recordPosition(read) + TEXT_LENGTH);
+                next++;
+                continue;
+            }
+            copyRecord(read, write++);
+        }
+        assert next == indices.length : "indices must be distinct, in range and in increasing order";
+        size = write;
+        while (records.size() > (size + RECORDS_PER_CHUNK - 1) / RECORDS_PER_CHUNK + 1) {
+            records.remove(records.size() - 1);
+        }
+        modCount++;
+        if (hasMostlyUnusedText()) {
+            compactText();
+        }
+    }
+
+    private boolean hasMostlyUnusedText() {
+        return unusedTextSize > textSize / 2 && unusedTextSize > TEXT_CHUNK_BYTES;
+    }
+
+    private ByteBuffer recordChunk(int index) {
+        return records.get(index >>> RECORD_CHUNK_SHIFT);
+    }
+
+    private static int recordPosition(int index) {
+        return (index & (RECORDS_PER_CHUNK - 1)) * RECORD_BYTES;
+    }
+
+    private void copyRecord(int from, int to) {
+        ByteBuffer source = recordChunk(from);
+        ByteBuffer target = recordChunk(to);
+        int fromPosition = recordPosition(from);
+        int toPosition = recordPosition(to);
+        for (int i = 0; i < RECORD_BYTES; i += Long.BYTES) {
+            target.putLong(toPosition + i, source.getLong(fromPosition + i));
+        }
+    }
+
+    private void write(int index, Task task) {
+        ByteBuffer chunk = recordChunk(index);
+        int record = recordPosition(index);
+        long start = 0;
+        long end = 0;
+        byte type = TODO;
+        if (task instanceof Deadline deadline) {
+            type = DEADLINE;
+            start = DateTimeParser.pack(deadline.getDate(), deadline.getTime());
+        } else if (task instanceof Event event) {
+            type = EVENT;
+            start = DateTimeParser.pack(event.getStartDate(), event.getStartTime());
+            end = DateTimeParser.pack(event.getEndDate(), event.getEndTime());
+        }
+        chunk.put(record + TYPE, type);
+        chunk.put(record + DONE, (byte) (task.isDone() ? 1 : 0));
+        chunk.putLong(record + START, start);
+        chunk.putLong(record + END, end);
+        writeDescription(index, task.getDescription().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeDescription(int index, byte[] description) {
+        if (description.length > TEXT_CHUNK_BYTES) {
+            throw new IllegalArgumentException("Task descriptions must not exceed " + TEXT_CHUNK_BYTES + " bytes");
+        }
+        ByteBuffer chunk = recordChunk(index);
+        int record = recordPosition(index);
+        int length = chunk.getInt(record + TEXT_LENGTH);
+        if (length == description.length
+                && Arrays.equals(readText(chunk.getLong(record + TEXT_OFFSET), length), description)) {
+            return;
+        }
+        unusedTextSize += length;
+        if (hasMostlyUnusedText()) {
+            chunk.putInt(record + TEXT_LENGTH, 0);
+            compactText();
+        }
+        chunk.putLong(record + TEXT_OFFSET, appendText(description));
+        chunk.putInt(record + TEXT_LENGTH, description.length);
+    }
+
+    /**
+     * Copies the description to the end of the text area, starting a new chunk if it does not fit in what is left
+     * of the last one, including when the last one is exactly full.
+     *
+     * @return The offset of the description in the text area.
+     */
+    private long appendText(byte[] description) {
+        if (description.length == 0) {
+            return textSize;
+        }
+        long chunksEnd = (long) text.size() << TEXT_CHUNK_SHIFT;
+        if (textSize + description.length > chunksEnd) {
+            text.add(allocate(TEXT_CHUNK_BYTES));
+            textSize = chunksEnd;
+        }
+        text.get((int) (textSize >>> TEXT_CHUNK_SHIFT)).put((int) (textSize & (TEXT_CHUNK_BYTES - 1)), description);
+        long offset = textSize;
+        textSize += description.length;
+        return offset;
+    }
+
+    private byte[] readText(long offset, int length) {
+        byte[] bytes = new byte[length];
+        if (length > 0) {
+            text.get((int) (offset >>> TEXT_CHUNK_SHIFT)).get((int) (offset & (TEXT_CHUNK_BYTES - 1)), bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Rewrites the descriptions into a new text area in list order, dropping the bytes no task refers to. The old
+     * chunks are freed once they are garbage collected.
+     */
+    private void compactText() {
+        List<ByteBuffer> oldText = text;
+        text = new ArrayList<>();
+        textSize = 0;
+        unusedTextSize = 0;
+        for (int i = 0; i < size; i++) {
+            ByteBuffer chunk = recordChunk(i);
+            int record = recordPosition(i);
+            int length = chunk.getInt(record + TEXT_LENGTH);
+            long offset = chunk.getLong(record + TEXT_OFFSET);
+            byte[] description = new byte[length];
+            if (length > 0) {
+                oldText.get((int) (offset >>> TEXT_CHUNK_SHIFT)).get((int) (offset & (TEXT_CHUNK_BYTES - 1)),
+                        description);
+            }
+            chunk.putLong(record + TEXT_OFFSET, appendText(description));
+        }
+    }
+
+    private static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,97 @@
+package omni.tasklist;
+
+import java.util.Arrays;
+
+/**
+ * Assigns stable ids to the positions of a task list, for use as keys by the search indexes.
+ * Ids are handed out in increasing order as tasks are appended and are kept when a task is replaced,
+ * so they always increase along the list and a position can be found from an id by binary search.
+ *
+ * @author Brandon Tan
+ */
+class TaskIds {
+    private int[] ids;
+    private int size;
+    private int nextId;
+
+    /**
+     * Constructs ids for a list that already holds the given number of tasks.
+     *
+     * @param initialSize The number of tasks already in the list.
+     */
+    TaskIds(int initialSize) {
+        ids = new int[Math.max(initialSize, 16)];
+        for (int i = 0; i < initialSize; i++) {
+            ids[i] = i;
+        }
+        size = initialSize;
+        nextId = initialSize;
+    }
+
+    /**
+     * Assigns an id to a task appended to the end of the list.
+     *
+     * @return The new id.
+     */
+    int append() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = nextId;
+        return nextId++;
+    }
+
+    /**
+     * Returns the id of the task at the given position.
+     *
+     * @param position The position of the task.
+     * @return The id of the task.
+     */
+    int idAt(int position) {
+        assert position >= 0 && position < size : "position must be within the list";
+        return ids[position];
+    }
+
+    /**
+     * Returns the position of the task with the given id, or a negative number if there is none.
+     *
+     * @param id The id of the task.
+     * @return The position of the task.
+     */
+    int positionOf(int id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /**
+     * Forgets the id of the task removed from the given position.
+     *
+     * @param position The position of the removed task.
+     */
+    void remove(int position) {
+        assert position >= 0 && position < size : "position must be within the list";
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Forgets the ids of the tasks removed from the given positions, closing the gaps in a single pass.
+     *
+     * @param positions The positions of the removed tasks, in increasing order.
+     */
+    void removeAll(int[] positions) {
+        if (positions.length == 0) {
+            return;
+        }
+        int write = positions[0];
+        int next = 0;
+        for (int read = positions[0]; read < size; read++) {
+            if (next < positions.length && positions[next] == read) {
+                next++;
+            } else {
+                ids[write++] = ids[read];
+            }
+        }
+        assert next == positions.length : "positions must be increasing and within the list";
+        size = write;
+    }
+}
@@ -1,6 +1,9 @@
 package omni.tasklist;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
 
 import omni.exceptions.InvalidArgumentException;
 import omni.tasks.Deadline;
@@ -10,27 +13,39 @@ import omni.tasks.Task;
 /**
  * Represents a list of tasks and provides methods to manipulate them.
  * Supports adding, removing, marking, and unmarking tasks.
+ * Changes made to a task are always written back with {@link List#set}, so that lists which do not keep every
+ * task object in memory see them.
+ *
+ * <p>Every task is given a stable id, which the description index for {@link #findMatchingTasks} and the date index
+ * for {@link #findTasksBetween} use as their key. Each index is built on the first search that needs it and from
+ * then on kept in sync by every method that adds, removes or replaces a task or changes its description or dates.
  *
  * @author Brandon Tan
  */
 public class TaskList {
+    /** Bulk removals larger than this drop the search indexes, to be rebuilt by the next search, instead. */
+    private static final int MAX_INDEXED_REMOVALS = 64;
 
-    private ArrayList<Task> tasks;
+    private List<Task> tasks;
+    private final TaskIds ids;
+    private DescriptionIndex descriptionIndex;
+    private DateIndex dateIndex;
 
     /**
      * Constructs a TaskList with the specified list of tasks.
      *
      * @param tasks The initial list of tasks.
      */
-    public TaskList(ArrayList<Task> tasks) {
+    public TaskList(List<Task> tasks) {
         this.tasks = tasks;
+        this.ids = new TaskIds(tasks.size());
     }
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
@@ -51,6 +66,32 @@ public class TaskList {
         return tasks.size();
     }
 
+    /**
+     * Returns the number of pages needed to show every task, with at least one page for an empty list.
+     *
+     * @param pageSize The number of tasks on a page.
+     * @return The number of pages.
+     */
+    public int getPageCount(int pageSize) {
+        assert pageSize > 0 : "pageSize must be positive";
+        return Math.max(1, (tasks.size() + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Returns a view of the tasks on the specified page. Pages are numbered from 1, and the first task on page
+     * {@code p} is at index {@code (p - 1) * pageSize}. The view does not copy the tasks, so tasks on other pages
+     * are never touched.
+     *
+     * @param page The page number, from 1 to {@link #getPageCount}.
+     * @param pageSize The number of tasks on a page.
+     * @return The tasks on the page.
+     */
+    public List<Task> getPage(int page, int pageSize) {
+        assert page >= 1 && page <= getPageCount(pageSize) : "page must exist";
+        int from = (page - 1) * pageSize;
+        return tasks.subList(from, Math.min(from + pageSize, tasks.size()));
+    }
+
     /**
      * Returns the task at the specified index.
      *
@@ -72,6 +113,7 @@ public class TaskList {
         assert index >= 0 : "index must be positive";
         Task t = getTask(index);
         t.markDone();
+        tasks.set(index, t);
         return t;
     }
 
@@ -85,9 +127,38 @@ public class TaskList {
         assert index >= 0 : "index must be positive";
         Task t = getTask(index);
         t.unmarkDone();
+        tasks.set(index, t);
         return t;
     }
 
+    /**
+     * Marks the tasks at the specified indices as done.
+     *
+     * @param indices The indices of the tasks to mark as done.
+     * @return The tasks that were marked as done, in the order of the indices.
+     */
+    public ArrayList<Task> markTasksDone(int[] indices) {
+        ArrayList<Task> marked = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            marked.add(markTaskDone(index));
+        }
+        return marked;
+    }
+
+    /**
+     * Marks the tasks at the specified indices as not done.
+     *
+     * @param indices The indices of the tasks to unmark.
+     * @return The tasks that were unmarked, in the order of the indices.
+     */
+    public ArrayList<Task> unmarkTasksDone(int[] indices) {
+        ArrayList<Task> unmarked = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            unmarked.add(unmarkTaskDone(index));
+        }
+        return unmarked;
+    }
+
     /**
      * Adds a task to the list.
      *
@@ -97,6 +168,13 @@ public class TaskList {
     public Task addTask(Task task) {
         assert task != null : "task cannot be null";
         tasks.add(task);
+        int id = ids.append();
+        if (descriptionIndex != null) {
+            descriptionIndex.add(id, task.getDescription());
+        }
+        if (dateIndex != null) {
+            dateIndex.add(id, DateIndex.keyOf(task));
+        }
         return task;
     }
 
@@ -108,27 +186,155 @@ public class TaskList {
      */
     public Task removeTask(int index) {
         assert index >= 0 : "index must be positive";
-        return tasks.remove(index);
+        Task removed = tasks.remove(index);
+        if (descriptionIndex != null) {
+            descriptionIndex.remove(ids.idAt(index), removed.getDescription());
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(ids.idAt(index), DateIndex.keyOf(removed));
+        }
+        ids.remove(index);
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at the specified indices from the list.
+     * A {@link BulkRemovableList} removes them itself, and any other random-access list is compacted in a single
+     * pass, so the cost does not grow with the number of tasks removed times the length of the list. Any other list
+     * has its tasks removed from the back, so that moving a task never forces it to be decoded.
+     *
+     * @param indices The indices of the tasks to remove, in increasing order.
+     * @return The removed tasks, in list order.
+     */
+    public ArrayList<Task> removeTasks(int[] indices) {
+        ArrayList<Task> removed = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            removed.add(tasks.get(index));
+        }
+        unindex(indices, removed);
+        if (tasks instanceof BulkRemovableList bulk) {
+            bulk.removeAll(indices);
+        } else if (tasks instanceof RandomAccess) {
+            compact(indices);
+        } else {
+            for (int i = indices.length - 1; i >= 0; i--) {
+                tasks.remove(indices[i]);
+            }
+        }
+        ids.removeAll(indices);
+        return removed;
+    }
+
+    private void unindex(int[] indices, ArrayList<Task> removed) {
+        if (indices.length > MAX_INDEXED_REMOVALS) {
+            descriptionIndex = null;
+            dateIndex = null;
+            return;
+        }
+        for (int i = 0; i < indices.length; i++) {
+            int id = ids.idAt(indices[i]);
+            if (descriptionIndex != null) {
+                descriptionIndex.remove(id, removed.get(i).getDescription());
+            }
+            if (dateIndex != null) {
+                dateIndex.remove(id, DateIndex.keyOf(removed.get(i)));
+            }
+        }
+    }
+
+    private void compact(int[] indices) {
+        if (indices.length == 0) {
+            return;
+        }
+        int size = tasks.size();
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < size; read++) {
+            if (next < indices.length && indices[next] == read) {
+                next++;
+            } else {
+                tasks.set(write++, tasks.get(read));
+            }
+        }
+        tasks.subList(write, size).clear();
     }
 
     /**
-     * Finds the tasks that contains the keyword provided.
+     * Finds the tasks that contains the keyword provided, ignoring case.
+     * Only the tasks the description index yields as candidates are checked against the keyword.
      *
      * @param keyword The keyword to find.
-     * @return The tasks containing the keyword
+     * @return The tasks containing the keyword, in list order.
      */
     public ArrayList<Task> findMatchingTasks(String keyword) {
+        String lowerKeyword = keyword.toLowerCase();
+        int[] candidates = getDescriptionIndex().findCandidates(lowerKeyword);
         ArrayList<Task> matchingTasks = new ArrayList<>();
-        for (Task task : tasks) {
-            if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
-                matchingTasks.add(task);
+        if (candidates == null) {
+            for (Task task : tasks) {
+                addIfMatching(task, lowerKeyword, matchingTasks);
             }
+            return matchingTasks;
+        }
+        for (int id : candidates) {
+            addIfMatching(tasks.get(ids.positionOf(id)), lowerKeyword, matchingTasks);
         }
         return matchingTasks;
     }
 
+    private static void addIfMatching(Task task, String lowerKeyword, ArrayList<Task> matchingTasks) {
+        if (task.getDescription().toLowerCase().contains(lowerKeyword)) {
+            matchingTasks.add(task);
+        }
+    }
+
+    private DescriptionIndex getDescriptionIndex() {
+        if (descriptionIndex == null) {
+            descriptionIndex = new DescriptionIndex();
+            for (int i = 0; i < tasks.size(); i++) {
+                descriptionIndex.add(ids.idAt(i), tasks.get(i).getDescription());
+            }
+        }
+        return descriptionIndex;
+    }
+
+    /**
+     * Finds the deadlines and events dated within the inclusive range, in date order.
+     * Deadlines are dated by when they are due and events by when they start.
+     *
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @return The tasks dated within the range.
+     */
+    public ArrayList<Task> findTasksBetween(LocalDateTime from, LocalDateTime to) {
+        int[] found = getDateIndex().findBetween(DateIndex.toEpochMinute(from), DateIndex.toEpochMinute(to));
+        ArrayList<Task> tasksInRange = new ArrayList<>(found.length);
+        for (int id : found) {
+            tasksInRange.add(tasks.get(ids.positionOf(id)));
+        }
+        return tasksInRange;
+    }
+
+    private DateIndex getDateIndex() {
+        if (dateIndex == null) {
+            dateIndex = new DateIndex();
+            for (int i = 0; i < tasks.size(); i++) {
+                dateIndex.add(ids.idAt(i), DateIndex.keyOf(tasks.get(i)));
+            }
+        }
+        return dateIndex;
+    }
+
+    /**
+     * Replaces the task at the specified index, keeping its position and id.
+     *
+     * @param index The index of the task to replace.
+     * @param task The task to put in its place.
+     */
     public void setTask(int index, Task task) {
-        tasks.set(index, task);
+        Task previous = tasks.set(index, task);
+        reindexDescription(index, previous.getDescription(), task.getDescription());
+        reindexDate(index, DateIndex.keyOf(previous), DateIndex.keyOf(task));
     }
 
     /**
@@ -136,7 +342,26 @@ public class TaskList {
      */
     public void changeDescription(int index, String description) {
         Task taskToSet = tasks.get(index);
+        String previousDescription = taskToSet.getDescription();
         taskToSet.setDescription(description);
+        tasks.set(index, taskToSet);
+        reindexDescription(index, previousDescription, description);
+    }
+
+    private void reindexDescription(int index, String previousDescription, String description) {
+        if (descriptionIndex != null && !previousDescription.equals(description)) {
+            int id = ids.idAt(index);
+            descriptionIndex.remove(id, previousDescription);
+            descriptionIndex.add(id, description);
+        }
+    }
+
+    private void reindexDate(int index, long previousKey, long key) {
+        if (dateIndex != null && previousKey != key) {
+            int id = ids.idAt(index);
+            dateIndex.remove(id, previousKey);
+            dateIndex.add(id, key);
+        }
     }
 
     /**
@@ -152,7 +377,13 @@ public class TaskList {
         if (!(taskToSet instanceof Deadline deadlineTask)) {
             throw new InvalidArgumentException("Task is not a deadline!");
         }
-        deadlineTask.setDeadline(by);
+        long previousKey = DateIndex.keyOf(deadlineTask);
+        try {
+            deadlineTask.setDeadline(by);
+            tasks.set(index, deadlineTask);
+        } finally {
+            reindexDate(index, previousKey, DateIndex.keyOf(deadlineTask));
+        }
     }
 
     /**
@@ -168,7 +399,13 @@ public class TaskList {
         if (!(taskToSet instanceof Event eventTask)) {
             throw new InvalidArgumentException("Task is not an Event!");
         }
-        eventTask.setStart(from);
+        long previousKey = DateIndex.keyOf(eventTask);
+        try {
+            eventTask.setStart(from);
+            tasks.set(index, eventTask);
+        } finally {
+            reindexDate(index, previousKey, DateIndex.keyOf(eventTask));
+        }
     }
 
     /**
@@ -184,7 +421,13 @@ public class TaskList {
         if (!(taskToSet instanceof Event eventTask)) {
             throw new InvalidArgumentException("Task is not an Event!");
         }
-        eventTask.setEnd(to);
+        long previousKey = DateIndex.keyOf(eventTask);
+        try {
+            eventTask.setEnd(to);
+            tasks.set(index, eventTask);
+        } finally {
+            reindexDate(index, previousKey, DateIndex.keyOf(eventTask));
+        }
     }
 
 }
@@ -0,0 +1,50 @@
+package omni.tasklist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import omni.tasks.Task;
+
+/**
+ * Represents the ways a {@link TaskList} can hold its tasks in memory.
+ *
+ * @author Brandon Tan
+ */
+public enum TaskListLayout {
+    /** One object per task, on the heap. */
+    OBJECTS,
+    /** Primitive columns of task fields on the heap, see {@link ColumnarTaskList}. */
+    COLUMNAR,
+    /** Fixed-size records in direct memory outside the heap, see {@link OffHeapTaskList}. */
+    OFF_HEAP;
+
+    /**
+     * Returns the layout with the given name, ignoring case, dashes and underscores.
+     * Falls back to {@link #OBJECTS} when the name is null or unknown.
+     *
+     * @param name The name of the layout, e.g. "columnar" or "off-heap".
+     * @return The matching layout.
+     */
+    public static TaskListLayout fromName(String name) {
+        String normalised = name == null ? "" : name.replace("-", "").replace("_", "");
+        for (TaskListLayout layout : values()) {
+            if (layout.name().replace("_", "").equalsIgnoreCase(normalised)) {
+                return layout;
+            }
+        }
+        return OBJECTS;
+    }
+
+    /**
+     * Returns an empty list in this layout, which tasks can be loaded straight into.
+     *
+     * @return The list.
+     */
+    public List<Task> empty() {
+        return switch (this) {
+        case OBJECTS -> new ArrayList<>();
+        case COLUMNAR -> new ColumnarTaskList();
+        case OFF_HEAP -> new OffHeapTaskList();
+        };
+    }
+}
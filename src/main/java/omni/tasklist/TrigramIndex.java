@@ -0,0 +1,102 @@
+package omni.tasklist;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An index from every three-character substring of the lowercase task descriptions to the ids of the tasks
+ * containing it.
+ *
+ * <p>A description containing a keyword contains every trigram of the keyword, so intersecting the postings of the
+ * keyword's trigrams yields a superset of the matches. The intersection leapfrogs through the posting lists, starting
+ * from the shortest and galloping each list forward to the largest id seen so far, so its cost follows the rarest
+ * trigram rather than the number of tasks. The caller verifies each
+ * candidate against the full keyword.
+ *
+ * @author Brandon Tan
+ */
+class TrigramIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, IntPostings> postings = new HashMap<>();
+
+    /**
+     * Indexes the trigrams of a description under the given task id.
+     *
+     * @param id The id of the task.
+     * @param description The description of the task.
+     */
+    void add(int id, String description) {
+        String lower = description.toLowerCase();
+        for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            postings.computeIfAbsent(trigramAt(lower, i), trigram -> new IntPostings()).add(id);
+        }
+    }
+
+    /**
+     * Removes the trigrams of a description from the postings of the given task id.
+     *
+     * @param id The id of the task.
+     * @param description The description the task was indexed with.
+     */
+    void remove(int id, String description) {
+        String lower = description.toLowerCase();
+        for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            long trigram = trigramAt(lower, i);
+            IntPostings ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the ids, in increasing order, of the tasks whose descriptions contain every trigram of the keyword.
+     *
+     * @param lowerKeyword The lowercase keyword, at least {@value #GRAM_LENGTH} characters long.
+     * @return The candidate ids.
+     */
+    int[] findCandidates(String lowerKeyword) {
+        assert lowerKeyword.length() >= GRAM_LENGTH : "keyword must be at least one trigram long";
+        int gramCount = lowerKeyword.length() - GRAM_LENGTH + 1;
+        IntPostings[] lists = new IntPostings[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            lists[i] = postings.get(trigramAt(lowerKeyword, i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(IntPostings::size));
+        IntPostings shortest = lists[0];
+        int[] cursors = new int[lists.length];
+        int[] candidates = new int[shortest.size()];
+        int count = 0;
+        while (cursors[0] < shortest.size()) {
+            int id = shortest.get(cursors[0]);
+            int next = id;
+            for (int i = 1; i < lists.length; i++) {
+                cursors[i] = lists[i].seek(cursors[i], id);
+                if (cursors[i] == lists[i].size()) {
+                    return Arrays.copyOf(candidates, count);
+                }
+                next = Math.max(next, lists[i].get(cursors[i]));
+            }
+            if (next == id) {
+                candidates[count++] = id;
+                cursors[0]++;
+            } else {
+                cursors[0] = shortest.seek(cursors[0], next);
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private static long trigramAt(String text, int index) {
+        return (long) text.charAt(index) << 32 | (long) text.charAt(index + 1) << 16 | text.charAt(index + 2);
+    }
+}
@@ -5,7 +5,7 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 
 import omni.exceptions.InvalidArgumentException;
-import omni.parser.Parser;
+import omni.parser.DateTimeParser;
 
 /**
  * Represents a deadline task with a specific due date and optional time.
@@ -29,8 +29,42 @@ public class Deadline extends Task {
      */
     public Deadline(String description, boolean isDone, String deadline) throws InvalidArgumentException {
         super(description, isDone);
-        this.date = Parser.parseDateFromDateTime(deadline);
-        this.time = Parser.parseTimeFromDateTime(deadline);
+        long by = DateTimeParser.parse(deadline);
+        this.date = DateTimeParser.toDate(by);
+        this.time = DateTimeParser.toTime(by);
+    }
+
+    /**
+     * Constructs a Deadline task from an already parsed date and optional time.
+     *
+     * @param description The task description.
+     * @param isDone Whether the task is completed.
+     * @param date The deadline date.
+     * @param time The deadline time, or null if the deadline has no time.
+     */
+    public Deadline(String description, boolean isDone, LocalDate date, LocalTime time) {
+        this(description, isDone, date, time, true);
+    }
+
+    private Deadline(String description, boolean isDone, LocalDate date, LocalTime time, boolean isPooled) {
+        super(description, isDone, isPooled);
+        assert date != null : "date cannot be null";
+        this.date = date;
+        this.time = time;
+    }
+
+    /**
+     * Returns a Deadline task that is a short-lived view of a task held in another form, whose description is
+     * used as it is rather than pooled.
+     *
+     * @param description The task description.
+     * @param isDone Whether the task is completed.
+     * @param date The deadline date.
+     * @param time The deadline time, or null if the deadline has no time.
+     * @return The Deadline task.
+     */
+    public static Deadline view(String description, boolean isDone, LocalDate date, LocalTime time) {
+        return new Deadline(description, isDone, date, time, false);
     }
 
     /**
@@ -62,6 +96,14 @@ public class Deadline extends Task {
         return dateTimeString;
     }
 
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
     @Override
     public String getEntryString() {
         String done = this.isDone() ? "1" : "0";
@@ -70,16 +112,14 @@ public class Deadline extends Task {
     }
 
     public void setDeadline(String deadline) throws InvalidArgumentException {
-        this.date = Parser.parseDateFromDateTime(deadline);
-        this.time = Parser.parseTimeFromDateTime(deadline);
+        long by = DateTimeParser.parse(deadline);
+        this.date = DateTimeParser.toDate(by);
+        this.time = DateTimeParser.toTime(by);
+        invalidateDisplayString();
     }
 
     @Override
-    public String toString() {
-        String dateTimeString = date.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
-        if (time != null) {
-            dateTimeString = dateTimeString + " " + time.format(DateTimeFormatter.ofPattern("HH:mm"));
-        }
-        return "[D]" + super.toString() + " (by: " + dateTimeString + ")";
+    protected String formatDisplayString() {
+        return "[D]" + super.formatDisplayString() + " (by: " + formatForDisplay(date, time) + ")";
     }
 }
@@ -0,0 +1,63 @@
+package omni.tasks;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import omni.metrics.Metrics;
+
+/**
+ * Shares one string between tasks with equal descriptions, so that recurring tasks such as "standup" do not each
+ * keep their own copy.
+ *
+ * <p>The pool is a fixed number of slots chosen by each description's hash, holding the description last seen for
+ * that slot. A description equal to the one in its slot is replaced by it; any other takes over the slot. The pool
+ * therefore never holds more than {@value #SLOT_COUNT} strings, however many tasks there are, and descriptions
+ * that keep recurring stay in it while one-off descriptions pass through. Slots are read and written without
+ * locking, which is safe because strings are immutable.
+ *
+ * <p>The number of descriptions pooled and the number that were shared are counted under
+ * {@code descriptions.pooled} and {@code descriptions.shared} in {@link Metrics}, along with the share of
+ * descriptions that were shared as {@code descriptions.sharedRatio}.
+ *
+ * @author Brandon Tan
+ */
+final class DescriptionPool {
+    private static final int SLOT_COUNT = 1 << 14;
+    private static final AtomicReferenceArray<String> SLOTS = new AtomicReferenceArray<>(SLOT_COUNT);
+    private static final LongAdder POOLED = Metrics.counter("descriptions.pooled");
+    private static final LongAdder SHARED = Metrics.counter("descriptions.shared");
+
+    static {
+        Metrics.gauge("descriptions.sharedRatio", DescriptionPool::getSharedRatio);
+    }
+
+    private DescriptionPool() {}
+
+    /**
+     * Returns the pooled string equal to the given description if there is one, or else the description itself,
+     * which is pooled in its place.
+     *
+     * @param description The description to share, or null.
+     * @return A string equal to the description, or null if it is null.
+     */
+    static String intern(String description) {
+        if (description == null) {
+            return null;
+        }
+        POOLED.increment();
+        int hash = description.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (SLOT_COUNT - 1);
+        String pooled = SLOTS.getPlain(slot);
+        if (description.equals(pooled)) {
+            SHARED.increment();
+            return pooled;
+        }
+        SLOTS.setPlain(slot, description);
+        return description;
+    }
+
+    private static String getSharedRatio() {
+        long pooled = POOLED.sum();
+        return pooled == 0 ? "-" : String.format("%.1f%%", 100.0 * SHARED.sum() / pooled);
+    }
+}
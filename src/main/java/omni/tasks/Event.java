@@ -5,7 +5,7 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 
 import omni.exceptions.InvalidArgumentException;
-import omni.parser.Parser;
+import omni.parser.DateTimeParser;
 
 /**
  * Represents an event task with start and end dates and optional times.
@@ -32,10 +32,55 @@ public class Event extends Task {
      */
     public Event(String description, boolean isDone, String start, String end) throws InvalidArgumentException {
         super(description, isDone);
-        this.startDate = Parser.parseDateFromDateTime(start);
-        this.startTime = Parser.parseTimeFromDateTime(start);
-        this.endDate = Parser.parseDateFromDateTime(end);
-        this.endTime = Parser.parseTimeFromDateTime(end);
+        long from = DateTimeParser.parse(start);
+        long to = DateTimeParser.parse(end);
+        this.startDate = DateTimeParser.toDate(from);
+        this.startTime = DateTimeParser.toTime(from);
+        this.endDate = DateTimeParser.toDate(to);
+        this.endTime = DateTimeParser.toTime(to);
+    }
+
+    /**
+     * Constructs an Event task from already parsed dates and optional times.
+     *
+     * @param description The task description.
+     * @param isDone Whether the task is completed.
+     * @param startDate The start date.
+     * @param startTime The start time, or null if the start has no time.
+     * @param endDate The end date.
+     * @param endTime The end time, or null if the end has no time.
+     */
+    public Event(String description, boolean isDone, LocalDate startDate, LocalTime startTime,
+            LocalDate endDate, LocalTime endTime) {
+        this(description, isDone, startDate, startTime, endDate, endTime, true);
+    }
+
+    private Event(String description, boolean isDone, LocalDate startDate, LocalTime startTime,
+            LocalDate endDate, LocalTime endTime, boolean isPooled) {
+        super(description, isDone, isPooled);
+        assert startDate != null : "startDate cannot be null";
+        assert endDate != null : "endDate cannot be null";
+        this.startDate = startDate;
+        this.startTime = startTime;
+        this.endDate = endDate;
+        this.endTime = endTime;
+    }
+
+    /**
+     * Returns an Event task that is a short-lived view of a task held in another form, whose description is used
+     * as it is rather than pooled.
+     *
+     * @param description The task description.
+     * @param isDone Whether the task is completed.
+     * @param startDate The start date.
+     * @param startTime The start time, or null if the start has no time.
+     * @param endDate The end date.
+     * @param endTime The end time, or null if the end has no time.
+     * @return The Event task.
+     */
+    public static Event view(String description, boolean isDone, LocalDate startDate, LocalTime startTime,
+            LocalDate endDate, LocalTime endTime) {
+        return new Event(description, isDone, startDate, startTime, endDate, endTime, false);
     }
 
     /**
@@ -69,8 +114,10 @@ public class Event extends Task {
     }
 
     public void setStart(String start) throws InvalidArgumentException {
-        this.startDate = Parser.parseDateFromDateTime(start);
-        this.startTime = Parser.parseTimeFromDateTime(start);
+        long from = DateTimeParser.parse(start);
+        this.startDate = DateTimeParser.toDate(from);
+        this.startTime = DateTimeParser.toTime(from);
+        invalidateDisplayString();
     }
 
     /**
@@ -86,6 +133,22 @@ public class Event extends Task {
         return dateAndTime;
     }
 
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
     @Override
     public String getEntryString() {
         String done = this.isDone() ? "1" : "0";
@@ -93,20 +156,15 @@ public class Event extends Task {
     }
 
     public void setEnd(String end) throws InvalidArgumentException {
-        this.endDate = Parser.parseDateFromDateTime(end);
-        this.endTime = Parser.parseTimeFromDateTime(end);
+        long to = DateTimeParser.parse(end);
+        this.endDate = DateTimeParser.toDate(to);
+        this.endTime = DateTimeParser.toTime(to);
+        invalidateDisplayString();
     }
 
     @Override
-    public String toString() {
-        String startDateAndTime = startDate.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
-        if (startTime != null) {
-            startDateAndTime = startDateAndTime + " " + startTime.format(DateTimeFormatter.ofPattern("HH:mm"));
-        }
-        String endDateAndTime = endDate.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
-        if (endTime != null) {
-            endDateAndTime = endDateAndTime + " " + endTime.format(DateTimeFormatter.ofPattern("HH:mm"));
-        }
-        return "[E]" + super.toString() + " (from: " + startDateAndTime + " to: " + endDateAndTime + ")";
+    protected String formatDisplayString() {
+        return "[E]" + super.formatDisplayString() + " (from: " + formatForDisplay(startDate, startTime)
+                + " to: " + formatForDisplay(endDate, endTime) + ")";
     }
 }
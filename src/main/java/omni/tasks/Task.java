@@ -1,14 +1,30 @@
 package omni.tasks;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
 /**
  * Represents a task with a description and completion status.
  * Serves as the base class for all task types in the Omni task management system.
  *
+ * <p>Descriptions pass through {@link DescriptionPool}, so that tasks with equal descriptions share one string.
+ * Tasks built as short-lived views of tasks held in another form skip the pool, as there is nothing to share.
+ *
+ * <p>A task's display string is built the first time it is needed and kept until the task changes, so listing
+ * the same tasks again costs no formatting. Subclasses describe how they are displayed by overriding
+ * {@link #formatDisplayString()}, and must call {@link #invalidateDisplayString()} whenever they change a field
+ * that is displayed.
+ *
  * @author Brandon Tan
  */
 public class Task {
+    protected static final DateTimeFormatter DISPLAY_DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy");
+    protected static final DateTimeFormatter DISPLAY_TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
     protected String description;
     protected boolean isDone;
+    private String displayString;
 
     /**
      * Constructs a Task with the specified description and completion status.
@@ -17,7 +33,19 @@ public class Task {
      * @param isDone Whether the task is completed.
      */
     public Task(String description, boolean isDone) {
-        this.description = description;
+        this(description, isDone, true);
+    }
+
+    /**
+     * Constructs a Task with the specified description and completion status, pooling the description only if
+     * asked to.
+     *
+     * @param description The task description.
+     * @param isDone Whether the task is completed.
+     * @param isPooled Whether the description is shared through {@link DescriptionPool}.
+     */
+    protected Task(String description, boolean isDone, boolean isPooled) {
+        this.description = isPooled ? DescriptionPool.intern(description) : description;
         this.isDone = isDone;
     }
 
@@ -29,6 +57,7 @@ public class Task {
     public Task(Task other) {
         this.description = other.description;
         this.isDone = other.isDone;
+        this.displayString = other.displayString;
     }
 
     /**
@@ -45,6 +74,7 @@ public class Task {
      */
     public void markDone() {
         this.isDone = true;
+        invalidateDisplayString();
     }
 
     /**
@@ -52,6 +82,7 @@ public class Task {
      */
     public void unmarkDone() {
         this.isDone = false;
+        invalidateDisplayString();
     }
 
     /**
@@ -92,16 +123,51 @@ public class Task {
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        this.description = DescriptionPool.intern(description);
+        invalidateDisplayString();
+    }
+
+    /**
+     * Discards the cached display string, so that the next call to {@link #toString()} formats the task again.
+     */
+    protected void invalidateDisplayString() {
+        this.displayString = null;
     }
 
     /**
-     * Returns the string representation of this task for display.
+     * Formats the string representation of this task for display.
      *
      * @return the formatted task string for display
      */
-    @Override
-    public String toString() {
+    protected String formatDisplayString() {
         return "[" + this.getStatusIcon() + "] " + description;
     }
+
+    /**
+     * Formats a date and an optional time for display, in the form "MMM d yyyy HH:mm".
+     *
+     * @param date The date to format.
+     * @param time The time to format, or null if there is none.
+     * @return The formatted date and time.
+     */
+    protected static String formatForDisplay(LocalDate date, LocalTime time) {
+        String dateString = DISPLAY_DATE_FORMATTER.format(date);
+        return time == null ? dateString : dateString + " " + DISPLAY_TIME_FORMATTER.format(time);
+    }
+
+    /**
+     * Returns the string representation of this task for display, formatting it only if it has changed since
+     * it was last displayed.
+     *
+     * @return the formatted task string for display
+     */
+    @Override
+    public final String toString() {
+        String cached = displayString;
+        if (cached == null) {
+            cached = formatDisplayString();
+            displayString = cached;
+        }
+        return cached;
+    }
 }
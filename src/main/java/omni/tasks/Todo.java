@@ -18,8 +18,24 @@ public class Todo extends Task {
         super(description, isDone);
     }
 
+    private Todo(String description, boolean isDone, boolean isPooled) {
+        super(description, isDone, isPooled);
+    }
+
+    /**
+     * Returns a Todo task that is a short-lived view of a task held in another form, whose description is used
+     * as it is rather than pooled.
+     *
+     * @param description The task description.
+     * @param isDone Whether the task is completed.
+     * @return The Todo task.
+     */
+    public static Todo view(String description, boolean isDone) {
+        return new Todo(description, isDone, false);
+    }
+
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String formatDisplayString() {
+        return "[T]" + super.formatDisplayString();
     }
 }
@@ -0,0 +1,60 @@
+package omni.ui;
+
+import java.util.List;
+
+import omni.tasklist.TaskList;
+import omni.tasks.Task;
+
+/**
+ * A Ui that stays silent when a command succeeds in changing the task list, for running long scripts.
+ * Errors and the replies to queries such as {@code list} and {@code find} are still shown.
+ *
+ * @author Brandon Tan
+ */
+public class QuietUi extends Ui {
+
+    @Override
+    public String greet() {
+        return "";
+    }
+
+    @Override
+    public String showMarked(Task task) {
+        return "";
+    }
+
+    @Override
+    public String showMarked(List<Task> tasks) {
+        return "";
+    }
+
+    @Override
+    public String showUnmarked(Task task) {
+        return "";
+    }
+
+    @Override
+    public String showUnmarked(List<Task> tasks) {
+        return "";
+    }
+
+    @Override
+    public String showAdded(Task task, TaskList tasks) {
+        return "";
+    }
+
+    @Override
+    public String showErased(Task task) {
+        return "";
+    }
+
+    @Override
+    public String showErased(List<Task> tasks) {
+        return "";
+    }
+
+    @Override
+    public String showUpdated(Task updatedTask) {
+        return "";
+    }
+}
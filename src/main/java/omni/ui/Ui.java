@@ -1,5 +1,6 @@
 package omni.ui;
 import java.util.ArrayList;
+import java.util.List;
 
 import omni.tasklist.TaskList;
 import omni.tasks.Task;
@@ -9,10 +10,18 @@ import omni.tasks.Task;
  * Provides methods to show various types of feedback including greetings, errors,
  * task status updates, and formatted task lists.
  *
+ * <p>Task lists are rendered into a single reusable buffer, so a Ui must only be used by one thread at a time.
+ *
  * @author Brandon Tan
  */
 public class Ui {
+    /** The number of tasks shown on each page of the list command. */
+    public static final int LIST_PAGE_SIZE = 100;
+
     private static final String INDENT = "    ";
+    private static final int MAX_RETAINED_REPLY_CAPACITY = 64 * 1024;
+
+    private StringBuilder reply = new StringBuilder();
 
     /**
      * Constructs a new Ui object.
@@ -49,24 +58,59 @@ public class Ui {
     }
 
     /**
-     * Displays the list of tasks to the user.
+     * Displays the first page of the list of tasks to the user.
      *
      * @param tasks The task list to display.
      * @return String representation of the task list.
      */
     public String showTasks(TaskList tasks) {
+        return showTasks(tasks, 1);
+    }
+
+    /**
+     * Displays a page of the list of tasks to the user, numbering each task by its position in the whole list.
+     * A footer pointing to the next page is added when the list does not fit on one page.
+     *
+     * @param tasks The task list to display.
+     * @param page The page to display, from 1 to the page count of the list.
+     * @return String representation of the page.
+     */
+    public String showTasks(TaskList tasks, int page) {
         assert tasks != null : "tasks cannot be null";
+        List<Task> pageTasks = tasks.getPage(page, LIST_PAGE_SIZE);
         if (tasks.isEmpty()) {
             return "You have no tasks... Add one!";
         }
-        StringBuilder reply = new StringBuilder("Here are the tasks you've added:\n");
-        for (int i = 0; i < tasks.getSize(); i++) {
-            Task t = tasks.getTask(i);
-            reply.append(String.format("    %d.%s\n", i + 1, t));
+        int first = (page - 1) * LIST_PAGE_SIZE + 1;
+        startReply("Here are the tasks you've added:\n");
+        appendTasks(pageTasks, first);
+        int pageCount = tasks.getPageCount(LIST_PAGE_SIZE);
+        if (pageCount > 1) {
+            reply.append("Showing tasks ").append(first).append('-').append(first + pageTasks.size() - 1)
+                    .append(" of ").append(tasks.getSize()).append(" (page ").append(page).append(" of ")
+                    .append(pageCount).append(").");
+            if (page < pageCount) {
+                reply.append(" Type list ").append(page + 1).append(" for more.");
+            }
+            reply.append('\n');
         }
         return reply.toString();
     }
 
+    private void startReply(String header) {
+        if (reply.capacity() > MAX_RETAINED_REPLY_CAPACITY) {
+            reply = new StringBuilder();
+        }
+        reply.setLength(0);
+        reply.append(header);
+    }
+
+    private void appendTasks(List<Task> tasks, int firstNumber) {
+        for (int i = 0; i < tasks.size(); i++) {
+            reply.append(INDENT).append(firstNumber + i).append('.').append(tasks.get(i)).append('\n');
+        }
+    }
+
     /**
      * Returns a confirmation message when a task is marked as done.
      *
@@ -91,6 +135,26 @@ public class Ui {
                 + "  " + task;
     }
 
+    /**
+     * Returns a confirmation message when several tasks are marked as done at once.
+     *
+     * @param tasks The tasks that were marked as done.
+     * @return Confirmation message string.
+     */
+    public String showMarked(List<Task> tasks) {
+        return getBulkReply("Congrats! I've marked these " + tasks.size() + " tasks as done:", tasks);
+    }
+
+    /**
+     * Returns a confirmation message when several tasks are unmarked at once.
+     *
+     * @param tasks The tasks that were unmarked.
+     * @return Confirmation message string.
+     */
+    public String showUnmarked(List<Task> tasks) {
+        return getBulkReply("Sure thing, I've marked these " + tasks.size() + " tasks as not done yet:", tasks);
+    }
+
     /**
      * Displays a confirmation message when a task is added.
      *
@@ -119,6 +183,32 @@ public class Ui {
                 + "  " + task;
     }
 
+    /**
+     * Returns a confirmation message when several tasks are deleted at once.
+     *
+     * @param tasks The tasks that were deleted.
+     * @return Confirmation message string.
+     */
+    public String showErased(List<Task> tasks) {
+        return getBulkReply("Gotchu, I've deleted these " + tasks.size() + " tasks for you:", tasks);
+    }
+
+    /**
+     * Builds the reply to a bulk command, naming at most a page of the affected tasks.
+     */
+    private String getBulkReply(String header, List<Task> tasks) {
+        assert !tasks.isEmpty() : "tasks cannot be empty";
+        startReply(header);
+        int shown = Math.min(tasks.size(), LIST_PAGE_SIZE);
+        for (int i = 0; i < shown; i++) {
+            reply.append("\n  ").append(tasks.get(i));
+        }
+        if (shown < tasks.size()) {
+            reply.append("\n  ...and ").append(tasks.size() - shown).append(" more.");
+        }
+        return reply.toString();
+    }
+
     /**
      * Displays an error message when a command is not recognised.
      *
@@ -139,17 +229,36 @@ public class Ui {
             return "No tasks containing that keyword. Try another one!";
         }
 
-        StringBuilder reply = getReply(matchingTasks);
-        return reply.toString();
+        return getReply("Here are the matching tasks in your list:\n", matchingTasks);
     }
 
-    private static StringBuilder getReply(ArrayList<Task> matchingTasks) {
-        StringBuilder reply = new StringBuilder("Here are the matching tasks in your list:\n");
-        for (int i = 0; i < matchingTasks.size(); i++) {
-            Task t = matchingTasks.get(i);
-            reply.append(String.format("    %d.%s\n", i + 1, t));
+    /**
+     * Displays the deadlines and events dated within a range.
+     *
+     * @param tasksInRange The deadlines and events in the range, in date order.
+     * @return String representation of the tasks or message if none found.
+     */
+    public String showTasksInRange(ArrayList<Task> tasksInRange) {
+        if (tasksInRange.isEmpty()) {
+            return "Nothing due then. Enjoy the free time!";
         }
-        return reply;
+        return getReply("Here are the deadlines and events in that period:\n", tasksInRange);
+    }
+
+    private String getReply(String header, ArrayList<Task> matchingTasks) {
+        startReply(header);
+        appendTasks(matchingTasks, 1);
+        return reply.toString();
+    }
+
+    /**
+     * Displays the latency and storage statistics collected since Omni started.
+     *
+     * @param report The statistics, as reported by {@link omni.metrics.Metrics#report()}.
+     * @return The statistics with a header.
+     */
+    public String showStats(String report) {
+        return "Here's where the time has gone so far:\n" + report;
     }
 
     /**
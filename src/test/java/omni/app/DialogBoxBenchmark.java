@@ -0,0 +1,83 @@
+package omni.app;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+
+/**
+ * Measures how long it takes to construct the dialog box for one message, comparing the previous approach of
+ * loading the layout from FXML for every dialog box against building it in code.
+ * The FXML layout is kept as a test resource for this comparison only.
+ *
+ * <p>Run with {@code gradlew dialogBoxBenchmark}. Each approach is warmed up before it is timed, and the
+ * construction runs on the JavaFX application thread as it does in the application.
+ *
+ * @author Brandon Tan
+ */
+public class DialogBoxBenchmark {
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+    private static final URL FXML_LAYOUT = DialogBoxBenchmark.class.getResource("/view/FxmlDialogBox.fxml");
+
+    private static Object sink;
+
+    /**
+     * Runs the benchmark and prints the mean construction time per dialog box for each approach.
+     *
+     * @param args Unused.
+     * @throws InterruptedException If interrupted while waiting for the JavaFX thread.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            try {
+                run();
+            } catch (IOException e) {
+                e.printStackTrace();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void run() throws IOException {
+        Image image = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/omnitrix.png"));
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = loadFromFxml("warm up", image);
+            sink = DialogBox.getOmniDialog("warm up", image);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = loadFromFxml("message " + i, image);
+        }
+        long fxmlNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = DialogBox.getOmniDialog("message " + i, image);
+        }
+        long codeNanos = System.nanoTime() - start;
+
+        System.out.printf("FXML per dialog box: %.1f us%n", fxmlNanos / 1000.0 / MEASURED_ITERATIONS);
+        System.out.printf("Code per dialog box: %.1f us%n", codeNanos / 1000.0 / MEASURED_ITERATIONS);
+    }
+
+    private static HBox loadFromFxml(String text, Image image) throws IOException {
+        FXMLLoader fxmlLoader = new FXMLLoader(FXML_LAYOUT);
+        fxmlLoader.setRoot(new HBox());
+        HBox box = fxmlLoader.load();
+        ((Label) fxmlLoader.getNamespace().get("dialog")).setText(text);
+        ((ImageView) fxmlLoader.getNamespace().get("displayPicture")).setImage(image);
+        return box;
+    }
+}
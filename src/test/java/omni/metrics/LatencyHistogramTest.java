@@ -0,0 +1,40 @@
+package omni.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the LatencyHistogram component.
+ * Contains unit tests to verify that recorded durations are summarised within the histogram's precision.
+ *
+ * @author Brandon Tan
+ */
+public class LatencyHistogramTest {
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 16, "expected about " + expected + " but was " + actual);
+    }
+
+    @Test
+    public void getPercentile_uniformDurations_success() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(50_000, histogram.getMean());
+        assertEquals(100_000, histogram.getMax());
+        assertWithinPrecision(50_000, histogram.getPercentile(0.5));
+        assertWithinPrecision(99_000, histogram.getPercentile(0.99));
+    }
+
+    @Test
+    public void getPercentile_empty_returnsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(0.99));
+    }
+}
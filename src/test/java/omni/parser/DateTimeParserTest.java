@@ -0,0 +1,59 @@
+package omni.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Test;
+
+import omni.exceptions.InvalidArgumentException;
+
+/**
+ * Test class for the DateTimeParser component.
+ * Contains unit tests to verify that dates are parsed the same way as by java.time.
+ *
+ * @author Brandon Tan
+ */
+public class DateTimeParserTest {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    @Test
+    public void parse_everyDayOfManyYears_matchesLocalDate() throws Exception {
+        for (LocalDate date = LocalDate.of(1, 1, 1); date.getYear() < 2200; date = date.plusDays(1)) {
+            long packed = DateTimeParser.parse(date.format(DATE_FORMATTER));
+            assertEquals(date, DateTimeParser.toDate(packed));
+            assertFalse(DateTimeParser.hasTime(packed));
+        }
+        assertEquals(LocalDate.of(9999, 12, 31), DateTimeParser.toDate(DateTimeParser.parse("31-12-9999")));
+    }
+
+    @Test
+    public void parse_withTime_success() throws Exception {
+        long packed = DateTimeParser.parse(" 29-02-2024 2359 ");
+        assertEquals(LocalDate.of(2024, 2, 29), DateTimeParser.toDate(packed));
+        assertEquals(LocalTime.of(23, 59), DateTimeParser.toTime(packed));
+        assertEquals(packed, DateTimeParser.pack(LocalDate.of(2024, 2, 29), LocalTime.of(23, 59)));
+        assertEquals(LocalTime.MIDNIGHT, DateTimeParser.toTime(DateTimeParser.parse("01-01-2025 0000")));
+        assertNull(DateTimeParser.toTime(DateTimeParser.parse("01-01-2025")));
+        assertEquals(DateTimeParser.parse("01-01-2025 0930"), DateTimeParser.parse("01-01-2025 \t 0930"));
+        assertTrue(DateTimeParser.parse("01-01-2025") < DateTimeParser.parse("01-01-2025 0000"));
+    }
+
+    @Test
+    public void parse_invalidDates_exceptionThrown() {
+        String[] invalidDates = {"", "1-01-2025", "31-02-2025", "29-02-2025", "00-01-2025", "01-13-2025",
+            "01-01-0000", "01-01-2025 2400", "01-01-2025 1260", "01-01-20251200", "01-01-2025T1200",
+            "01/01/2025", "01-01-2025 14:00", "01-01-2025 1400 1500"};
+        for (String date : invalidDates) {
+            InvalidArgumentException e = assertThrows(InvalidArgumentException.class, () ->
+                    DateTimeParser.parse(date));
+            assertTrue(e.getMessage().contains("Invalid date format!"));
+        }
+    }
+}
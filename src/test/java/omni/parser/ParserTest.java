@@ -1,15 +1,24 @@
 package omni.parser;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import omni.exceptions.InvalidArgumentException;
+import omni.storage.Storage;
+import omni.tasklist.TaskList;
+import omni.ui.Ui;
 
 /**
  * Test class for the Parser component.
- * Contains unit tests to verify the functionality of date string validation.
+ * Contains unit tests to verify the functionality of date string validation and command lookup.
  *
  * @author Brandon Tan
  */
@@ -41,4 +50,60 @@ public class ParserTest {
         assertTrue(e1.getMessage().contains("Invalid date format!"));
         assertTrue(e2.getMessage().contains("Invalid date format!"));
     }
+
+    /**
+     * Tests that commands are found by keyword, alias or unique prefix, ignoring case.
+     */
+    @Test
+    public void lookupCommand_success() {
+        assertEquals(Command.DEADLINE, lookup("deadline"));
+        assertEquals(Command.DEADLINE, lookup("DeadLine"));
+        assertEquals(Command.DEADLINE, lookup("dl"));
+        assertEquals(Command.DEADLINE, lookup("dea"));
+        assertEquals(Command.LIST, lookup("l"));
+        assertEquals(Command.UNMARK, lookup("un"));
+        assertEquals(Command.DUE, lookup("due"));
+        assertEquals(Command.MARK, Command.lookup("  mark 3", 2, 6));
+    }
+
+    /**
+     * Tests that words that are ambiguous or name no command are not found.
+     */
+    @Test
+    public void lookupCommand_unknownOrAmbiguous_returnsNull() {
+        assertNull(lookup(""));
+        assertNull(lookup("d"));
+        assertNull(lookup("de"));
+        assertNull(lookup("b"));
+        assertNull(lookup("by"));
+        assertNull(lookup("u"));
+        assertNull(lookup("todos"));
+        assertNull(lookup("l1st"));
+        assertNull(lookup("m\u00e9h"));
+    }
+
+    /**
+     * Tests that the parser reports an exit for the bye command in any case and padding, but not for a shortened
+     * or longer word.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void handleInput_byeInFull_isExit(@TempDir Path tempDir) throws Exception {
+        Parser parser = new Parser(new Ui(), new TaskList(), new Storage(tempDir.resolve("tasks.txt")));
+        for (String input : new String[] {"bye", "  BYE \t", "\nbye"}) {
+            parser.handleInput(input);
+            assertTrue(parser.isExit(), input);
+            parser.handleInput("list");
+            assertFalse(parser.isExit(), input);
+        }
+        for (String input : new String[] {"by", "byes"}) {
+            parser.handleInput(input);
+            assertFalse(parser.isExit(), input);
+        }
+    }
+
+    private static Command lookup(String word) {
+        return Command.lookup(word, 0, word.length());
+    }
 }
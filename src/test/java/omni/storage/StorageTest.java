@@ -4,11 +4,16 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import omni.exceptions.CorruptedFileException;
 import omni.tasks.Deadline;
@@ -40,6 +45,20 @@ public class StorageTest {
         assertEquals(tasks.toString(), new Storage(path).loadTasks().toString());
     }
 
+    /**
+     * Tests that the streaming loader accepts CRLF line endings and a last line without a newline.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void loadTasks_crlfWithoutTrailingNewline_success(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("tasks.txt");
+        Files.writeString(path, "T | todo | 1\r\nD | deadline | 0 | 01-01-2025\r\n"
+                + "E | event | 1 | 01-01-2025 | 02-02-2025");
+        Path expectedPath = Paths.get("src", "test", "java", "omni", "storage", "loadTasksTest.txt");
+        assertEquals(new Storage(expectedPath).loadTasks().toString(), new Storage(path).loadTasks().toString());
+    }
+
     /**
      * Tests the loadTasks method with a file containing incorrect task type.
      * Verifies that CorruptedFileException is thrown when task type is invalid.
@@ -89,4 +108,359 @@ public class StorageTest {
         });
         assertTrue(exception4.getMessage().contains("Entry length for event invalid."));
     }
+
+    /**
+     * Tests that mutations made in journal mode are appended to the journal instead of rewriting the snapshot,
+     * and that loading replays them on top of the snapshot.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void loadTasks_journalReplay_success(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("tasks.txt");
+        Files.writeString(path, "T | todo | 0\nD | deadline | 0 | 01-01-2025\n");
+        Storage storage = new Storage(path, StorageMode.JOURNAL);
+        ArrayList<Task> tasks = storage.loadTasks();
+
+        Task added = new Event("event", false, "01-01-2025", "02-02-2025");
+        storage.writeTask(added);
+        tasks.add(added);
+        tasks.get(0).markDone();
+        storage.rewriteTask(tasks.get(0), 0);
+        storage.eraseTask(1);
+        tasks.remove(1);
+        storage.close();
+
+        assertEquals("T | todo | 0\nD | deadline | 0 | 01-01-2025\n", Files.readString(path));
+        assertEquals(tasks.toString(), new Storage(path, StorageMode.JOURNAL).loadTasks().toString());
+    }
+
+    /**
+     * Tests that compaction folds the journal into the snapshot without changing the loaded tasks,
+     * and that records written after compaction are still replayed.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void compact_journalFoldedIntoSnapshot_success(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("tasks.txt");
+        JournalTaskStore store = new JournalTaskStore(path);
+        ArrayList<Task> tasks = new ArrayList<>();
+        store.load(tasks);
+        for (int i = 0; i < 5; i++) {
+            Task task = new Todo("todo " + i, false);
+            store.append(task);
+            tasks.add(task);
+        }
+        tasks.get(2).markDone();
+        store.replace(tasks.get(2), 2);
+        store.remove(0);
+        tasks.remove(0);
+
+        store.compact();
+        Task late = new Todo("late", true);
+        store.append(late);
+        tasks.add(late);
+        store.close();
+
+        assertEquals(4, Files.readAllLines(path).size());
+        assertTrue(Files.notExists(tempDir.resolve("tasks.txt.journal.compacting")));
+        assertEquals(1, Files.readAllLines(tempDir.resolve("tasks.txt.journal")).size());
+        assertEquals(tasks.toString(), new Storage(path, StorageMode.JOURNAL).loadTasks().toString());
+    }
+
+    /**
+     * Tests that converting a text task file to the binary format and back is lossless,
+     * and that binary mode loads the same tasks as the text file.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void convertBinary_roundTrip_success(@TempDir Path tempDir) throws Exception {
+        Path textPath = Paths.get("src", "test", "java", "omni", "storage", "loadTasksTest.txt");
+        Path binaryPath = tempDir.resolve("tasks.bin");
+        Path convertedPath = tempDir.resolve("tasks.txt");
+
+        BinaryTaskCodec.convertTextToBinary(textPath, binaryPath);
+        BinaryTaskCodec.convertBinaryToText(binaryPath, convertedPath);
+
+        assertEquals(Files.readAllLines(textPath), Files.readAllLines(convertedPath));
+        Storage binaryStorage = new Storage(binaryPath, StorageMode.BINARY);
+        ArrayList<Task> tasks = binaryStorage.loadTasks();
+        assertEquals(new Storage(textPath).loadTasks().toString(), tasks.toString());
+
+        Task added = new Deadline("added", false, "03-03-2025 1200");
+        binaryStorage.writeTask(added);
+        tasks.add(added);
+        tasks.get(1).markDone();
+        binaryStorage.rewriteTask(tasks.get(1), 1);
+        binaryStorage.eraseTask(0);
+        tasks.remove(0);
+        assertEquals(tasks.toString(), new Storage(binaryPath, StorageMode.BINARY).loadTasks().toString());
+        assertTrue(Files.notExists(tempDir.resolve("tasks.bin.partial")));
+    }
+
+    /**
+     * Tests that binary mode keeps its tasks beside the text file, leaving the text file unchanged,
+     * and that text mode refuses to change a binary file.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void loadTasks_binaryBesideText_textUnchanged(@TempDir Path tempDir) throws Exception {
+        Path textPath = tempDir.resolve("tasks.txt");
+        Files.writeString(textPath, "T | todo | 1\n");
+        Storage binaryStorage = new Storage(textPath, StorageMode.BINARY);
+        ArrayList<Task> tasks = binaryStorage.loadTasks();
+        Task added = new Todo("added", false);
+        binaryStorage.writeTask(added);
+        tasks.add(added);
+
+        assertEquals(List.of("T | todo | 1"), Files.readAllLines(textPath));
+        assertTrue(BinaryTaskCodec.isBinaryFile(tempDir.resolve("tasks.bin")));
+        assertEquals(tasks.toString(), new Storage(textPath, StorageMode.BINARY).loadTasks().toString());
+
+        Storage textStorage = new Storage(tempDir.resolve("tasks.bin"));
+        assertThrows(CorruptedFileException.class, textStorage::loadTasks);
+        assertThrows(IOException.class, () -> textStorage.writeTask(new Todo("lost", false)));
+    }
+
+    /**
+     * Tests that mapped mode converts an existing text file and persists in-place mutations,
+     * including status-only rewrites and removals that shift later slots.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void loadTasks_mappedMutations_success(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("tasks.txt");
+        Files.writeString(path, "T | todo | 1\nD | deadline | 0 | 01-01-2025\n");
+        Storage storage = new Storage(path, StorageMode.MAPPED);
+        ArrayList<Task> tasks = storage.loadTasks();
+        for (int i = 0; i < 100; i++) {
+            Task task = new Event("event " + i, false, "01-01-2025 0800", "02-02-2025");
+            storage.writeTask(task);
+            tasks.add(task);
+        }
+        tasks.get(1).markDone();
+        storage.rewriteTaskStatus(tasks.get(1), 1);
+        tasks.get(0).setDescription("renamed");
+        storage.rewriteTask(tasks.get(0), 0);
+        storage.eraseTask(50);
+        tasks.remove(50);
+        storage.close();
+
+        assertEquals(tasks.toString(), new Storage(path, StorageMode.MAPPED).loadTasks().toString());
+    }
+
+    /**
+     * Tests that mapped mode refuses to convert a text file holding a task too long for a slot, leaving the file
+     * unchanged, and converts it once the task is gone.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void loadTasks_mappedTaskTooLong_leavesFileUnchanged(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("tasks.txt");
+        StringBuilder entries = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            entries.append("D | deadline ").append(i).append(" | 0 | 01-01-2025 1200\n");
+        }
+        String fitting = entries.toString();
+        Files.writeString(path, entries.append("T | ").append("x".repeat(300)).append(" | 0\n"));
+
+        assertThrows(CorruptedFileException.class, () -> new Storage(path, StorageMode.MAPPED).loadTasks());
+        assertEquals(entries.toString(), Files.readString(path));
+        assertTrue(Files.notExists(tempDir.resolve("tasks.txt.partial")));
+
+        Files.writeString(path, fitting);
+        ArrayList<Task> expected = new Storage(path).loadTasks();
+        assertEquals(expected.toString(), new Storage(path, StorageMode.MAPPED).loadTasks().toString());
+        assertEquals(expected.toString(), new Storage(path, StorageMode.MAPPED).loadTasks().toString());
+    }
+
+    /**
+     * Tests that a parallel load of a multi-chunk file returns the tasks in file order,
+     * and reports the same corrupted line as a sequential load.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void loadTasks_parallelChunks_matchesSequential(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("tasks.txt");
+        StringBuilder entries = new StringBuilder();
+        for (int i = 0; i < 150_000; i++) {
+            entries.append(i % 2 == 0 ? "T | todo " + i + " | 0\n" : "D | deadline " + i + " | 1 | 01-01-2025 1200\n");
+        }
+        Files.writeString(path, entries);
+        ArrayList<Task> sequential = new ArrayList<>();
+        new TaskFileReader().read(path, sequential);
+        ArrayList<Task> parallel = new ArrayList<>();
+        new ParallelTaskFileReader(new ForkJoinPool(4)).read(path, parallel);
+        assertEquals(sequential.toString(), parallel.toString());
+
+        entries.append("X | corrupted | 0\n").append("T | todo | 0\n");
+        Files.writeString(path, entries);
+        CorruptedFileException exception = assertThrows(CorruptedFileException.class, () ->
+                new ParallelTaskFileReader(new ForkJoinPool(4)).read(path, new ArrayList<>()));
+        assertEquals("Task type not found.\nX | corrupted | 0", exception.getMessage());
+    }
+
+    /**
+     * Tests that a lazily loaded journal list matches an eager load, and that changes written back to it
+     * survive eviction of the decoded task from the cache.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void loadTasksLazily_journal_matchesEagerLoad(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("tasks.txt");
+        Files.writeString(path, "T | todo | 1\nD | deadline | 0 | 01-01-2025\n"
+                + "E | event | 1 | 01-01-2025 | 02-02-2025\n");
+        Files.writeString(tempDir.resolve("tasks.txt.journal"), "- 0\n+ T | added | 0\n");
+        Storage storage = new Storage(path, StorageMode.JOURNAL);
+        List<Task> lazyTasks = storage.loadTasksLazily();
+        storage.close();
+        assertEquals(new Storage(path, StorageMode.JOURNAL).loadTasks().toString(), lazyTasks.toString());
+
+        LazyTaskList tasks = LazyTaskList.open(path, 1);
+        Task deadline = tasks.get(1);
+        deadline.markDone();
+        tasks.set(1, deadline);
+        tasks.get(0);
+        tasks.get(2);
+        assertEquals('D', tasks.getType(1));
+        assertTrue(tasks.get(1).isDone());
+        tasks.close();
+    }
+
+    /**
+     * Tests that batched writes reach the text and journal files only when flushed, in submission order.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void flush_writeBehind_matchesImmediateWrites(@TempDir Path tempDir) throws Exception {
+        for (StorageMode mode : List.of(StorageMode.TEXT, StorageMode.JOURNAL)) {
+            Path path = tempDir.resolve(mode + ".txt");
+            Storage storage = new Storage(path, mode, 60_000, FsyncPolicy.BATCH);
+            ArrayList<Task> tasks = storage.loadTasks();
+            for (int i = 0; i < 10; i++) {
+                Task task = new Todo("todo " + i, false);
+                storage.writeTask(task);
+                tasks.add(task);
+            }
+            assertEquals(0, new Storage(path, mode).loadTasks().size());
+
+            storage.flush();
+            tasks.get(3).markDone();
+            storage.rewriteTaskStatus(tasks.get(3), 3);
+            tasks.get(3).setDescription("changed after it was queued");
+            storage.eraseTask(0);
+            Task removed = tasks.remove(0);
+            storage.writeTask(removed);
+            tasks.add(removed);
+            storage.close();
+
+            tasks.get(2).setDescription("todo 3");
+            assertEquals(tasks.toString(), new Storage(path, mode).loadTasks().toString());
+        }
+    }
+
+    /**
+     * Tests that with batched writes, mapped mode refuses a task too long for its slot before queueing it,
+     * so that later changes are still saved.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void writeTask_mappedTaskTooLongBatched_refusedUpFront(@TempDir Path tempDir) throws Exception {
+        Path path = tempDir.resolve("tasks.txt");
+        Storage storage = new Storage(path, StorageMode.MAPPED, 60_000, FsyncPolicy.NEVER);
+        storage.loadTasks();
+
+        assertThrows(IOException.class, () -> storage.writeTask(new Todo("x".repeat(300), false)));
+        Task kept = new Todo("kept", false);
+        storage.writeTask(kept);
+        storage.close();
+
+        assertEquals(List.of(kept).toString(), new Storage(path, StorageMode.MAPPED).loadTasks().toString());
+    }
+
+    /**
+     * Tests that once a batch fails to be written, no later mutation reaches the store and every later call
+     * reports the failure.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void flush_writeBehindFailure_stopsLaterWrites() throws Exception {
+        List<List<PendingWrite>> applied = new ArrayList<>();
+        TaskStore store = new TaskStore() {
+            @Override
+            public void load(List<Task> tasks) {}
+
+            @Override
+            public void applyBatch(List<PendingWrite> batch) throws IOException {
+                applied.add(batch);
+                if (applied.size() == 1) {
+                    throw new IOException("disk full");
+                }
+            }
+
+            @Override
+            public void append(Task task) {}
+
+            @Override
+            public void replace(Task task, int index) {}
+
+            @Override
+            public void remove(int index) {}
+        };
+        WriteBehindQueue queue = new WriteBehindQueue(store, 60_000, FsyncPolicy.NEVER);
+        queue.submit(PendingWrite.append(new Todo("lost", false)));
+
+        assertThrows(IOException.class, queue::flush);
+        assertThrows(IOException.class, () -> queue.submit(PendingWrite.remove(0)));
+        IOException e = assertThrows(IOException.class, queue::close);
+        assertTrue(e.getMessage().contains("disk full"));
+        assertEquals(1, applied.size());
+    }
+
+    /**
+     * Tests that bulk removals and status rewrites leave every storage mode, and a batched text file, holding the
+     * same tasks as the list they were applied to.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void eraseTasks_allModes_matchesList(@TempDir Path tempDir) throws Exception {
+        for (StorageMode mode : StorageMode.values()) {
+            for (long writeDelay : new long[] {0, 60_000}) {
+                Path path = tempDir.resolve(mode + "-" + writeDelay + ".txt");
+                Storage storage = new Storage(path, mode, writeDelay, FsyncPolicy.NEVER);
+                ArrayList<Task> tasks = storage.loadTasks();
+                for (int i = 0; i < 50; i++) {
+                    Task task = new Todo("todo " + i, false);
+                    storage.writeTask(task);
+                    tasks.add(task);
+                }
+                int[] marked = {1, 2, 30};
+                List<Task> markedTasks = new ArrayList<>();
+                for (int index : marked) {
+                    tasks.get(index).markDone();
+                    markedTasks.add(tasks.get(index));
+                }
+                storage.rewriteTaskStatuses(markedTasks, marked);
+                int[] erased = {0, 2, 10, 11, 12, 49};
+                storage.eraseTasks(erased);
+                for (int i = erased.length - 1; i >= 0; i--) {
+                    tasks.remove(erased[i]);
+                }
+                storage.close();
+
+                assertEquals(tasks.toString(), new Storage(path, mode).loadTasks().toString(), path.toString());
+            }
+        }
+    }
 }
@@ -0,0 +1,288 @@
+package omni.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import omni.tasks.Deadline;
+import omni.tasks.Event;
+import omni.tasks.Task;
+import omni.tasks.Todo;
+
+/**
+ * Test class for the TaskList component.
+ * Contains unit tests to verify that searches stay correct as the list changes.
+ *
+ * @author Brandon Tan
+ */
+public class TaskListTest {
+
+    private static List<String> findDescriptions(TaskList tasks, String keyword) {
+        List<String> descriptions = new ArrayList<>();
+        for (Task task : tasks.findMatchingTasks(keyword)) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    /**
+     * Tests that find matches substrings inside words, ignoring case, and returns matches in list order.
+     */
+    @Test
+    public void findMatchingTasks_substring_success() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("Read Book", false));
+        tasks.addTask(new Todo("return books", false));
+        tasks.addTask(new Todo("buy milk", false));
+        tasks.addTask(new Todo("notebook shopping", false));
+
+        assertEquals(List.of("Read Book", "return books", "notebook shopping"), findDescriptions(tasks, "BOOK"));
+        assertEquals(List.of("return books"), findDescriptions(tasks, "turn boo"));
+        assertEquals(List.of(), findDescriptions(tasks, "book  shop"));
+        assertEquals(List.of("Read Book", "return books", "notebook shopping"), findDescriptions(tasks, "Bo"));
+        assertEquals(List.of("buy milk"), findDescriptions(tasks, "y"));
+        assertEquals(4, findDescriptions(tasks, " ").size());
+    }
+
+    /**
+     * Tests that find reflects tasks added, removed, renamed and restored after the index is built.
+     */
+    @Test
+    public void findMatchingTasks_afterChanges_success() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("write report", false));
+        tasks.addTask(new Todo("read report", false));
+        assertEquals(2, findDescriptions(tasks, "report").size());
+
+        tasks.addTask(new Todo("file reports", false));
+        tasks.removeTask(0);
+        assertEquals(List.of("read report", "file reports"), findDescriptions(tasks, "report"));
+
+        Task original = tasks.getTask(0).copy();
+        tasks.changeDescription(0, "read novel");
+        assertEquals(List.of("file reports"), findDescriptions(tasks, "report"));
+        assertEquals(List.of("read novel"), findDescriptions(tasks, "novel"));
+        assertEquals(List.of("read novel"), findDescriptions(tasks, "ov"));
+
+        tasks.setTask(0, original);
+        assertEquals(List.of("read report", "file reports"), findDescriptions(tasks, "report"));
+        assertEquals(List.of(), findDescriptions(tasks, "novel"));
+        assertEquals(List.of(), findDescriptions(tasks, "ov"));
+
+        tasks.addTask(new Todo("zoo visit", false));
+        assertEquals(List.of("zoo visit"), findDescriptions(tasks, "oo"));
+        assertEquals(List.of("read report", "file reports"), findDescriptions(tasks, "po"));
+    }
+
+    /**
+     * Tests that date range queries return deadlines and events in date order and follow date changes.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void findTasksBetween_afterChanges_success() throws Exception {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Deadline("essay", false, LocalDate.of(2025, 3, 10), LocalTime.of(23, 59)));
+        tasks.addTask(new Todo("laundry", false));
+        tasks.addTask(new Event("fair", false, LocalDate.of(2025, 3, 5), null, LocalDate.of(2025, 3, 6), null));
+        tasks.addTask(new Deadline("quiz", false, LocalDate.of(2025, 4, 1), null));
+        LocalDateTime march = LocalDate.of(2025, 3, 1).atStartOfDay();
+        LocalDateTime endOfMarch = LocalDate.of(2025, 3, 31).atTime(LocalTime.MAX);
+
+        assertEquals(List.of(tasks.getTask(2), tasks.getTask(0)), tasks.findTasksBetween(march, endOfMarch));
+
+        Task original = tasks.getTask(3).copy();
+        tasks.changeBy(3, "02-03-2025 0900");
+        tasks.changeFrom(2, "01-05-2025");
+        tasks.removeTask(1);
+        assertEquals(List.of(tasks.getTask(2), tasks.getTask(0)), tasks.findTasksBetween(march, endOfMarch));
+
+        tasks.setTask(2, original);
+        assertEquals(List.of(tasks.getTask(0)), tasks.findTasksBetween(march, endOfMarch));
+    }
+
+    /**
+     * Tests that removing many tasks at once keeps the remaining tasks, and searches over them, in list order,
+     * both when the indexes are updated and when they are rebuilt.
+     */
+    @Test
+    public void removeTasks_bulk_success() {
+        for (int size : new int[] {10, 500}) {
+            TaskList tasks = new TaskList();
+            List<Task> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                Task task = new Deadline("task " + i, false, LocalDate.of(2025, 1, 1).plusDays(i), null);
+                tasks.addTask(task);
+                if (i % 3 != 0) {
+                    expected.add(task);
+                }
+            }
+            tasks.findMatchingTasks("task");
+            tasks.findTasksBetween(LocalDateTime.MIN, LocalDateTime.MAX);
+
+            int[] removed = new int[(size + 2) / 3];
+            for (int i = 0; i < removed.length; i++) {
+                removed[i] = i * 3;
+            }
+            assertEquals(removed.length, tasks.removeTasks(removed).size());
+            tasks.addTask(new Todo("task added", false));
+            expected.add(tasks.getTask(expected.size()));
+
+            assertEquals(expected, tasks.findMatchingTasks("task"));
+            assertEquals(expected.subList(0, expected.size() - 1),
+                    tasks.findTasksBetween(LocalDateTime.MIN, LocalDateTime.MAX));
+            assertEquals(expected.stream().filter(task -> task.getDescription().contains("task 2")).toList(),
+                    tasks.findMatchingTasks("task 2"));
+        }
+    }
+
+    /**
+     * Tests that a task list held in columns gives the same results as one holding task objects, through adds,
+     * changes, single and bulk removals, and searches.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void columnarTaskList_matchesArrayList() throws Exception {
+        assertMatchesArrayList(new TaskList(new ColumnarTaskList()));
+    }
+
+    /**
+     * Tests that a task list held in direct memory gives the same results as one holding task objects, through adds,
+     * changes, single and bulk removals, and searches.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void offHeapTaskList_matchesArrayList() throws Exception {
+        assertMatchesArrayList(new TaskList(new OffHeapTaskList()));
+    }
+
+    /**
+     * Tests that an off-heap list keeps every description intact when descriptions fill a text chunk exactly, both
+     * as tasks are added and after they are all renamed.
+     */
+    @Test
+    public void offHeapTaskList_exactlyFullTextChunk_readsBackEveryTask() {
+        List<Task> expected = new ArrayList<>();
+        OffHeapTaskList tasks = new OffHeapTaskList();
+        // 1024 descriptions of 4096 bytes fill one 4 MB text chunk to its last byte.
+        for (int i = 0; i < 1030; i++) {
+            Task task = new Todo(String.format("%04d", i) + "x".repeat(4092), i % 2 == 0);
+            expected.add(task);
+            tasks.add(task);
+        }
+        assertEquals(expected.toString(), tasks.toString());
+
+        for (int i = 0; i < expected.size(); i++) {
+            Task task = new Todo(String.format("%04d", i) + "y".repeat(4092), false);
+            expected.set(i, task);
+            tasks.set(i, task);
+        }
+        assertEquals(expected.toString(), tasks.toString());
+    }
+
+    /**
+     * Tests that a columnar list keeps every description intact when many tasks share equal descriptions, through
+     * renames and removals that compact the shared text.
+     */
+    @Test
+    public void columnarTaskList_sharedDescriptions_readsBackEveryTask() {
+        List<Task> expected = new ArrayList<>();
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        for (int i = 0; i < 2000; i++) {
+            Task task = new Todo(i % 3 == 0 ? "standup " + i : "standup", false);
+            expected.add(task);
+            tasks.add(task);
+        }
+        for (int i = 0; i < expected.size(); i += 2) {
+            Task task = new Todo(i % 5 == 0 ? "" : "review " + i % 7, true);
+            expected.set(i, task);
+            tasks.set(i, task);
+        }
+        assertEquals(expected.toString(), tasks.toString());
+
+        int[] indices = IntStream.range(0, expected.size()).filter(i -> i % 4 != 1).toArray();
+        for (int i = indices.length - 1; i >= 0; i--) {
+            expected.remove(indices[i]);
+        }
+        tasks.removeAll(indices);
+        assertEquals(expected.toString(), tasks.toString());
+    }
+
+    /**
+     * Tests that a posting list gives the same ids as a sorted set through adds and removals in any order,
+     * whether or not the set is read between them.
+     */
+    @Test
+    public void intPostings_changesInAnyOrder_matchTreeSet() {
+        Random random = new Random(42);
+        IntPostings postings = new IntPostings();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                postings.remove(id);
+                expected.remove(id);
+            } else {
+                postings.add(id);
+                expected.add(id);
+            }
+            if (random.nextInt(50) == 0) {
+                assertEquals(expected.isEmpty(), postings.isEmpty());
+                List<Integer> actual = new ArrayList<>();
+                for (int j = 0; j < postings.size(); j++) {
+                    actual.add(postings.get(j));
+                }
+                assertEquals(new ArrayList<>(expected), actual);
+            }
+        }
+        for (int id : expected) {
+            postings.remove(id);
+        }
+        assertTrue(postings.isEmpty());
+    }
+
+    private static void assertMatchesArrayList(TaskList other) throws Exception {
+        TaskList objects = new TaskList();
+        for (TaskList tasks : List.of(objects, other)) {
+            for (int i = 0; i < 300; i++) {
+                LocalDate day = LocalDate.of(2025, 1, 1).plusDays(i);
+                tasks.addTask(switch (i % 3) {
+                case 0 -> new Todo("todo " + i + " caf\u00e9", i % 2 == 0);
+                case 1 -> new Deadline("deadline " + i, false, day, i % 2 == 0 ? null : LocalTime.of(i % 24, 30));
+                default -> new Event("event " + i, false, day, LocalTime.NOON, day.plusDays(1), null);
+                });
+            }
+            tasks.markTasksDone(new int[] {1, 2, 3, 150});
+            tasks.unmarkTaskDone(0);
+            tasks.changeDescription(4, "renamed deadline");
+            tasks.changeBy(7, "01-06-2025 0800");
+            tasks.changeTo(5, "02-06-2025");
+            tasks.removeTask(10);
+            tasks.removeTasks(new int[] {0, 20, 21, 22, 299 - 1});
+            for (int i = 0; i < 200; i++) {
+                tasks.changeDescription(i, "description " + i);
+            }
+        }
+
+        assertEquals(objects.getSize(), other.getSize());
+        assertEquals(objects.getPage(1, objects.getSize()).toString(),
+                other.getPage(1, other.getSize()).toString());
+        assertEquals(objects.findMatchingTasks("caf").toString(), other.findMatchingTasks("caf").toString());
+        assertEquals(objects.findMatchingTasks("description 1").toString(),
+                other.findMatchingTasks("description 1").toString());
+        assertEquals(objects.findTasksBetween(LocalDateTime.MIN, LocalDateTime.MAX).toString(),
+                other.findTasksBetween(LocalDateTime.MIN, LocalDateTime.MAX).toString());
+    }
+}
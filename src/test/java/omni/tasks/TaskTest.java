@@ -0,0 +1,73 @@
+package omni.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the Task components.
+ * Contains unit tests to verify that the cached display strings follow every change to a task, and that equal
+ * descriptions are shared.
+ *
+ * @author Brandon Tan
+ */
+public class TaskTest {
+
+    /**
+     * Tests that an unchanged task returns the same display string each time instead of formatting it again.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void toString_unchangedTask_reusesDisplayString() throws Exception {
+        Task task = new Deadline("essay", false, "10-03-2025 2359");
+        assertEquals("[D][ ] essay (by: Mar 10 2025 23:59)", task.toString());
+        assertSame(task.toString(), task.toString());
+    }
+
+    /**
+     * Tests that the display string follows every change to a deadline or event, including changes made to a copy
+     * that must leave the original unchanged.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void toString_afterChanges_success() throws Exception {
+        Deadline deadline = new Deadline("essay", false, "10-03-2025 2359");
+        deadline.toString();
+        deadline.markDone();
+        assertEquals("[D][X] essay (by: Mar 10 2025 23:59)", deadline.toString());
+        deadline.setDeadline("11-03-2025");
+        assertEquals("[D][X] essay (by: Mar 11 2025)", deadline.toString());
+        deadline.setDescription("report");
+        assertEquals("[D][X] report (by: Mar 11 2025)", deadline.toString());
+        deadline.unmarkDone();
+        assertEquals("[D][ ] report (by: Mar 11 2025)", deadline.toString());
+
+        Event event = new Event("fair", false, "05-03-2025", "06-03-2025");
+        assertEquals("[E][ ] fair (from: Mar 5 2025 to: Mar 6 2025)", event.toString());
+        event.setStart("05-03-2025 0900");
+        event.setEnd("06-03-2025 1700");
+        assertEquals("[E][ ] fair (from: Mar 5 2025 09:00 to: Mar 6 2025 17:00)", event.toString());
+        Event copy = event.copy();
+        copy.markDone();
+        assertEquals("[E][ ] fair (from: Mar 5 2025 09:00 to: Mar 6 2025 17:00)", event.toString());
+        assertEquals("[E][X] fair (from: Mar 5 2025 09:00 to: Mar 6 2025 17:00)", copy.toString());
+    }
+
+    /**
+     * Tests that tasks given equal descriptions, whether on creation or when renamed, share one string.
+     *
+     * @throws Exception If any unexpected error occurs during testing.
+     */
+    @Test
+    public void description_equalDescriptions_shareOneString() throws Exception {
+        Task first = new Todo(new String("standup"), false);
+        Task second = new Deadline(new String("standup"), false, "10-03-2025");
+        Task renamed = new Todo("retro", false);
+        renamed.setDescription(new String("standup"));
+        assertSame(first.getDescription(), second.getDescription());
+        assertSame(first.getDescription(), renamed.getDescription());
+    }
+}
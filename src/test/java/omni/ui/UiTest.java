@@ -0,0 +1,53 @@
+package omni.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import omni.tasklist.TaskList;
+import omni.tasks.Todo;
+
+/**
+ * Test class for the Ui component.
+ * Contains unit tests to verify how task lists are rendered.
+ *
+ * @author Brandon Tan
+ */
+public class UiTest {
+
+    /**
+     * Tests that a list fitting on one page is shown without a page footer.
+     */
+    @Test
+    public void showTasks_singlePage_success() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("read book", false));
+        tasks.addTask(new Todo("return book", true));
+
+        assertEquals("Here are the tasks you've added:\n    1.[T][ ] read book\n    2.[T][X] return book\n",
+                new Ui().showTasks(tasks));
+    }
+
+    /**
+     * Tests that a long list is shown one page at a time, numbered by position in the whole list.
+     */
+    @Test
+    public void showTasks_multiplePages_success() {
+        TaskList tasks = new TaskList();
+        for (int i = 1; i <= Ui.LIST_PAGE_SIZE + 5; i++) {
+            tasks.addTask(new Todo("task " + i, false));
+        }
+        Ui ui = new Ui();
+
+        String firstPage = ui.showTasks(tasks);
+        assertEquals(Ui.LIST_PAGE_SIZE + 2, firstPage.split("\n").length);
+        assertTrue(firstPage.endsWith("(page 1 of 2). Type list 2 for more.\n"));
+
+        String lastPage = ui.showTasks(tasks, 2);
+        int first = Ui.LIST_PAGE_SIZE + 1;
+        assertTrue(lastPage.startsWith("Here are the tasks you've added:\n    " + first + ".[T][ ] task " + first));
+        assertTrue(lastPage.endsWith("Showing tasks " + first + "-" + (first + 4) + " of " + (first + 4)
+                + " (page 2 of 2).\n"));
+    }
+}
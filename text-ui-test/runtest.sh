@@ -12,15 +12,21 @@ then
     rm ACTUAL.TXT
 fi
 
+# start from an empty task list
+if [ -e "./data/tasks.txt" ]
+then
+    rm data/tasks.txt
+fi
+
 # compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+if ! javac -sourcepath ../src/main/java -Xlint:none -d ../bin ../src/main/java/omni/app/Cli.java
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
 # run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Duke < input.txt > ACTUAL.TXT
+java -classpath ../bin omni.app.Cli --data data/tasks.txt < input.txt > ACTUAL.TXT
 
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT